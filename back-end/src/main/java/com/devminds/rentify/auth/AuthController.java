@@ -1,12 +1,17 @@
 package com.devminds.rentify.auth;
 
 import com.devminds.rentify.dto.LoginDto;
+import com.devminds.rentify.dto.RefreshTokenDto;
 import com.devminds.rentify.dto.UserRegisterDto;
 import com.devminds.rentify.exception.DuplicateEntityException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,12 +21,16 @@ import java.io.IOException;
 @RequestMapping("/rentify")
 @RequiredArgsConstructor
 public class AuthController {
+    private static final String BEARER_PREFIX = "Bearer ";
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
 
     @PostMapping("/register")
-    public ResponseEntity<AuthenticationRespone> register(@RequestBody UserRegisterDto userRegisterDto) {
+    public ResponseEntity<AuthenticationRespone> register(@RequestBody UserRegisterDto userRegisterDto,
+                                                         HttpServletRequest httpRequest) {
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), null);
 
         try {
             AuthenticationRespone authenticationResponse = authService.register(userRegisterDto);
@@ -38,7 +47,21 @@ public class AuthController {
 
 
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationRespone> login(@RequestBody LoginDto request) throws IOException {
+    public ResponseEntity<AuthenticationRespone> login(@RequestBody LoginDto request,
+                                                      HttpServletRequest httpRequest) throws IOException {
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getEmail());
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) RefreshTokenDto request) {
+        authService.logout(authorization.substring(BEARER_PREFIX.length()), request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationRespone> refresh(@Valid @RequestBody RefreshTokenDto request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
 }
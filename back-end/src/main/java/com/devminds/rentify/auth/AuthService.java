@@ -1,6 +1,7 @@
 package com.devminds.rentify.auth;
 
 import com.devminds.rentify.dto.LoginDto;
+import com.devminds.rentify.dto.RefreshTokenDto;
 import com.devminds.rentify.dto.UserRegisterDto;
 
 import java.io.IOException;
@@ -9,4 +10,8 @@ public interface AuthService {
     AuthenticationRespone register(UserRegisterDto userRegisterDto) throws IOException;
 
     AuthenticationRespone login(LoginDto loginDto) throws IOException;
+
+    AuthenticationRespone refresh(RefreshTokenDto refreshTokenDto);
+
+    void logout(String accessToken, RefreshTokenDto refreshTokenDto);
 }
@@ -0,0 +1,24 @@
+package com.devminds.rentify.auth;
+
+import com.devminds.rentify.entity.User;
+import com.devminds.rentify.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Lightweight principal built from the verified claims of a self-contained access token, so
+ * authenticated requests never have to load the {@link User} entity.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role) {
+
+    public static AuthenticatedUser from(User user) {
+        UserRole role = user.getRole() != null ? user.getRole().getRole() : UserRole.USER;
+        return new AuthenticatedUser(user.getId(), user.getEmail(), role);
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.toString()));
+    }
+}
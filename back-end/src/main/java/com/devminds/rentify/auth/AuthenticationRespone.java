@@ -15,6 +15,7 @@ import java.util.Map;
 public class AuthenticationRespone {
 
     private String token;
+    private String refreshToken;
     private String email;
     private String errorMessage;
 
@@ -23,6 +24,9 @@ public class AuthenticationRespone {
         if (token != null) {
             resultMap.put("token", token);
         }
+        if (refreshToken != null) {
+            resultMap.put("refreshToken", refreshToken);
+        }
         if (email != null) {
             resultMap.put("email", email);
         }
@@ -3,11 +3,16 @@ package com.devminds.rentify.auth;
 import com.devminds.rentify.config.JwtService;
 import com.devminds.rentify.config.UserMapper;
 import com.devminds.rentify.dto.LoginDto;
+import com.devminds.rentify.dto.RefreshTokenDto;
 import com.devminds.rentify.dto.UserRegisterDto;
 import com.devminds.rentify.entity.User;
+import com.devminds.rentify.enums.UserRole;
+import com.devminds.rentify.exception.InvalidTokenException;
 import com.devminds.rentify.exception.UserNotFoundException;
-import com.devminds.rentify.repository.RoleRepository;
+import com.devminds.rentify.service.RoleCache;
 import com.devminds.rentify.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -22,6 +27,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 
 public class AuthenticationServiceImpl implements AuthService {
+    private static final String INVALID_REFRESH_TOKEN_MESSAGE = "Refresh token is invalid or expired";
+    private static final String REFRESH_DISABLED_MESSAGE = "Refresh tokens are not enabled";
 
 
     private final UserService userService;
@@ -29,14 +36,17 @@ public class AuthenticationServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
+    private final TokenRevocationService tokenRevocationService;
 
 
     @Override
     public AuthenticationRespone register(UserRegisterDto userRegisterDto)  {
 
+        userService.checkNotRegistered(userRegisterDto.getEmail(), userRegisterDto.getPhoneNumber());
+
         User user = userMapper.mapToUser(userRegisterDto);
-        user.setRole(roleRepository.findUserRole());
+        user.setRole(roleCache.get(UserRole.USER));
         user.setPassword(passwordEncoder.encode(userRegisterDto.getPassword()));
         userService.saveUser(user);
         return AuthenticationRespone.builder()
@@ -57,10 +67,72 @@ public class AuthenticationServiceImpl implements AuthService {
             var token = jwtService.generateToken(user);
             return AuthenticationRespone.builder()
                     .token(token)
+                    .refreshToken(jwtService.isSelfContainedTokens() ? jwtService.generateRefreshToken(user) : null)
                     .email(user.getEmail())
                     .build();
 
 
 
     }
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token pair. The user is loaded
+     * here, so role changes and deleted accounts take effect within one access token lifetime.
+     * The old refresh token is revoked by an insert that only one request can win, so a token
+     * replayed concurrently yields a single new pair.
+     */
+    @Override
+    public AuthenticationRespone refresh(RefreshTokenDto refreshTokenDto) {
+        if (!jwtService.isSelfContainedTokens()) {
+            throw new InvalidTokenException(REFRESH_DISABLED_MESSAGE);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(refreshTokenDto.getRefreshToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN_MESSAGE, e);
+        }
+        if (!jwtService.isRefreshToken(claims) || tokenRevocationService.isRevoked(claims.getId())) {
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN_MESSAGE);
+        }
+
+        var user = userService.findByEmail(claims.getSubject())
+                .filter(found -> found.getId().equals(jwtService.extractUserId(claims)))
+                .orElseThrow(() -> new InvalidTokenException(INVALID_REFRESH_TOKEN_MESSAGE));
+
+        if (!tokenRevocationService.revoke(claims.getId(), claims.getExpiration())) {
+            throw new InvalidTokenException(INVALID_REFRESH_TOKEN_MESSAGE);
+        }
+        return AuthenticationRespone.builder()
+                .token(jwtService.generateToken(user))
+                .refreshToken(jwtService.generateRefreshToken(user))
+                .email(user.getEmail())
+                .build();
+    }
+
+    /**
+     * Revokes the access token of the request and, when given, the refresh token of the same
+     * session. Tokens issued before token ids were introduced carry no jti and simply expire.
+     */
+    @Override
+    public void logout(String accessToken, RefreshTokenDto refreshTokenDto) {
+        revokeQuietly(accessToken);
+        if (refreshTokenDto != null && refreshTokenDto.getRefreshToken() != null) {
+            revokeQuietly(refreshTokenDto.getRefreshToken());
+        }
+    }
+
+    private void revokeQuietly(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+
+        if (claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        }
+    }
 }
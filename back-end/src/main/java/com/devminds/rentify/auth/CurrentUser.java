@@ -0,0 +1,24 @@
+package com.devminds.rentify.auth;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Resolves the id of the user authenticated for the current request, if any.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    public static Optional<Long> id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.ofNullable(user.id());
+        }
+
+        return Optional.empty();
+    }
+}
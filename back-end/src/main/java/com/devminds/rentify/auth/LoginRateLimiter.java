@@ -0,0 +1,102 @@
+package com.devminds.rentify.auth;
+
+import com.devminds.rentify.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token buckets that admit login and registration attempts per client IP and per account
+ * before any password is hashed. Buckets live in lock-striped LRU maps, so concurrent
+ * attempts only contend within a stripe and an attacker rotating IPs or emails can evict old
+ * buckets but never grow memory past {@code max-buckets}.
+ */
+@Component
+public class LoginRateLimiter {
+    private static final String TOO_MANY_ATTEMPTS_MESSAGE = "Too many login attempts, please retry later";
+    private static final int STRIPES = 64;
+
+    private final BucketMap ipBuckets;
+    private final BucketMap accountBuckets;
+    private final Counter ipThrottledCounter;
+    private final Counter accountThrottledCounter;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${application.auth.login.max-buckets}") int maxBuckets,
+                            @Value("${application.auth.login.ip-capacity}") int ipCapacity,
+                            @Value("${application.auth.login.ip-refill-per-minute}") double ipRefillPerMinute,
+                            @Value("${application.auth.login.account-capacity}") int accountCapacity,
+                            @Value("${application.auth.login.account-refill-per-minute}") double accountRefillPerMinute) {
+        this.ipBuckets = new BucketMap(maxBuckets / STRIPES + 1, ipCapacity, ipRefillPerMinute);
+        this.accountBuckets = new BucketMap(maxBuckets / STRIPES + 1, accountCapacity, accountRefillPerMinute);
+        this.ipThrottledCounter = meterRegistry.counter("rentify.auth.login.throttled", "scope", "ip");
+        this.accountThrottledCounter = meterRegistry.counter("rentify.auth.login.throttled", "scope", "account");
+    }
+
+    /**
+     * Takes one token from the IP's bucket and, when {@code email} is given, one from the
+     * account's bucket; throws {@link TooManyLoginAttemptsException} if either is empty.
+     */
+    public void acquire(String ip, String email) {
+        if (!ipBuckets.tryAcquire(ip)) {
+            ipThrottledCounter.increment();
+            throw new TooManyLoginAttemptsException(TOO_MANY_ATTEMPTS_MESSAGE);
+        }
+        if (email != null && !accountBuckets.tryAcquire(email.toLowerCase(Locale.ROOT))) {
+            accountThrottledCounter.increment();
+            throw new TooManyLoginAttemptsException(TOO_MANY_ATTEMPTS_MESSAGE);
+        }
+    }
+
+    private static final class BucketMap {
+        private final Map<String, TokenBucket>[] stripes;
+        private final int capacity;
+        private final double refillPerNano;
+
+        @SuppressWarnings("unchecked")
+        private BucketMap(int maxBucketsPerStripe, int capacity, double refillPerMinute) {
+            this.stripes = new Map[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                        return size() > maxBucketsPerStripe;
+                    }
+                };
+            }
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / 60_000_000_000.0;
+        }
+
+        private boolean tryAcquire(String key) {
+            Map<String, TokenBucket> stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+            synchronized (stripe) {
+                long now = System.nanoTime();
+                TokenBucket bucket = stripe.computeIfAbsent(key, ignored -> new TokenBucket(capacity, now));
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * refillPerNano);
+                bucket.refilledAt = now;
+                if (bucket.tokens < 1) {
+                    return false;
+                }
+
+                bucket.tokens--;
+                return true;
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.devminds.rentify.auth;
+
+import com.devminds.rentify.repository.RevokedTokenRepository;
+import com.devminds.rentify.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Deny-list of revoked token ids (jti). Lookups go through an in-memory {@link BloomFilter}
+ * first, so a request with a valid token only touches the database on the rare false
+ * positive or for a token that really was revoked. The filter is rebuilt from the table at
+ * startup and after each purge of expired entries, picks up revocations made on other
+ * instances every {@code sync-interval-ms}, and takes local revocations immediately.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuildingFilter;
+    private volatile Date lastSyncedAt = new Date();
+
+    @Value("${application.auth.revocation.expected-tokens}")
+    private long expectedTokens;
+
+    @Value("${application.auth.revocation.false-positive-rate}")
+    private double falsePositiveRate;
+
+    @Value("${application.auth.revocation.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    @Value("${application.auth.revocation.purge-batch-size}")
+    private int purgeBatchSize;
+
+    @Value("${application.auth.revocation.sync-overlap}")
+    private Duration syncOverlap;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String jti) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(jti)) {
+            return false;
+        }
+
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Revokes {@code jti} with a single INSERT, so of several concurrent calls for the same
+     * token exactly one returns {@code true}; the others find it already revoked and return
+     * {@code false}. Callers that rotate a token use this to let only one of them proceed.
+     */
+    public boolean revoke(String jti, Date expiresAt) {
+        boolean revoked;
+        try {
+            revokedTokenRepository.insert(jti, new Date(), expiresAt);
+            revoked = true;
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.debug("Token {} was already revoked", jti);
+            revoked = false;
+        }
+
+        put(jti);
+        return revoked;
+    }
+
+    /**
+     * Loads every unexpired jti into a fresh filter and swaps it in. Revocations made while
+     * the table is scanned go into both filters, so none is lost by the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Date syncedAt = new Date();
+        BloomFilter newFilter = BloomFilter.create(expectedTokens, falsePositiveRate);
+        rebuildingFilter = newFilter;
+        try {
+            Date now = new Date();
+            String cursor = "";
+            int loaded = 0;
+            List<String> batch;
+            do {
+                batch = revokedTokenRepository.findActiveJtisAfter(cursor, now, Limit.of(rebuildBatchSize));
+                for (String jti : batch) {
+                    newFilter.put(jti);
+                    cursor = jti;
+                }
+                loaded += batch.size();
+            } while (batch.size() == rebuildBatchSize);
+
+            filter = newFilter;
+            lastSyncedAt = syncedAt;
+            LOGGER.info("Token revocation filter rebuilt with {} tokens", loaded);
+        } finally {
+            rebuildingFilter = null;
+        }
+    }
+
+    /**
+     * Adds tokens revoked on other instances since the last sync. The window overlaps the
+     * previous one by {@code sync-overlap} to cover transactions that committed late.
+     */
+    @Scheduled(fixedDelayString = "${application.auth.revocation.sync-interval-ms}")
+    public void sync() {
+        if (filter == null) {
+            return;
+        }
+
+        Date syncedAt = new Date();
+        Date since = new Date(lastSyncedAt.getTime() - syncOverlap.toMillis());
+        revokedTokenRepository.findJtisRevokedSince(since).forEach(this::put);
+        lastSyncedAt = syncedAt;
+    }
+
+    @Scheduled(cron = "${application.auth.revocation.purge-cron}")
+    public void purgeExpired() {
+        Date now = new Date();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = revokedTokenRepository.deleteExpired(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        LOGGER.info("Purged {} expired revoked tokens", purged);
+        rebuild();
+    }
+
+    private void put(String jti) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(jti);
+        }
+
+        BloomFilter rebuilding = rebuildingFilter;
+        if (rebuilding != null) {
+            rebuilding.put(jti);
+        }
+    }
+}
@@ -2,17 +2,12 @@ package com.devminds.rentify.config;
 
 import com.devminds.rentify.dto.AddressDto;
 import com.devminds.rentify.entity.Address;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-@RequiredArgsConstructor
-public class AddressMapper {
+@Mapper(config = MappingConfig.class)
+public interface AddressMapper {
 
-    private final ModelMapper modelMapper;
+    Address mapToAddress(AddressDto addressDto);
 
-    public Address mapToAddress(AddressDto addressDto) {
-        return modelMapper.map(addressDto, Address.class);
-    }
+    AddressDto mapToAddressDto(Address address);
 }
@@ -3,6 +3,7 @@ package com.devminds.rentify.config;
 import com.amazonaws.util.Base64;
 import com.devminds.rentify.repository.UserRepository;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,19 +15,29 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.Key;
 import java.security.SecureRandom;
+import java.time.Duration;
 
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository repository;
+    private final MeterRegistry meterRegistry;
     @Value("${myapp.secretKey}")
      private  String secretKey ;
 
+    @Value("${application.auth.password-hashing.threads}")
+    private int passwordHashingThreads;
+
+    @Value("${application.auth.password-hashing.queue-capacity}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${application.auth.password-hashing.timeout}")
+    private Duration passwordHashingTimeout;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> repository.findByEmail(username)
@@ -41,9 +52,10 @@ public class ApplicationConfig {
         return authProvider;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingThreads,
+                passwordHashingQueueCapacity, passwordHashingTimeout, meterRegistry);
     }
 
     @Bean
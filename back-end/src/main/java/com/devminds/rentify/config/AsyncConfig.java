@@ -0,0 +1,37 @@
+package com.devminds.rentify.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs asynchronous MVC work, such as streaming an image download, on a bounded pool sized
+ * to the number of downloads allowed in flight. {@code @EnableWebMvc} switches off Boot's
+ * MVC setup, so without this every streamed response would get a new thread.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public AsyncConfig(@Value("${application.storage.download.max-in-flight}") int maxInFlight) {
+        executor.setCorePoolSize(maxInFlight);
+        executor.setMaxPoolSize(maxInFlight);
+        executor.setQueueCapacity(maxInFlight);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setDaemon(true);
+        executor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,6 +3,7 @@ package com.devminds.rentify.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -30,6 +31,7 @@ public class AuthConfig {
                         auth -> auth
                                 .requestMatchers("/rentify/login").permitAll()
                                 .requestMatchers("/rentify/register").permitAll()
+                                .requestMatchers("/rentify/refresh").permitAll()
                                 .requestMatchers("/rentify/google-login").permitAll()
                                 .requestMatchers("/rentify/categories").permitAll()
                                 .requestMatchers("/rentify/categories/*").permitAll()
@@ -37,14 +39,15 @@ public class AuthConfig {
                                 .requestMatchers("/rentify/items/**").permitAll()
                                 .requestMatchers("/rentify/addresses").permitAll()
                                 .requestMatchers("/rentify/addresses/**").permitAll()
+                                .requestMatchers(HttpMethod.POST, "/rentify/users/import").hasAuthority("ADMIN")
                                 .requestMatchers("/rentify/users").permitAll()
                                 .requestMatchers("/rentify/users/**").permitAll()
                                 .requestMatchers("/rentify/images").permitAll()
                                 .requestMatchers("/rentify/images/**").permitAll()
                                 .requestMatchers("/rentify/views").permitAll()
                                 .requestMatchers("/rentify/views/**").permitAll()
-                                .requestMatchers("/rentify/likes").permitAll()
-                                .requestMatchers("/rentify/likes/**").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/rentify/likes").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/rentify/likes/**").permitAll()
                                 .anyRequest().authenticated()
 
                 )
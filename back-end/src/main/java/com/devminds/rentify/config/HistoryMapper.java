@@ -0,0 +1,13 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.dto.HistoryDto;
+import com.devminds.rentify.entity.History;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MappingConfig.class, uses = {UserMapper.class, ItemMapper.class})
+public interface HistoryMapper {
+
+    HistoryDto mapToHistoryDto(History history);
+
+    History mapToHistory(HistoryDto historyDto);
+}
@@ -0,0 +1,18 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.dto.ItemDto;
+import com.devminds.rentify.dto.PlainItemDto;
+import com.devminds.rentify.entity.Item;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MappingConfig.class, uses = UserMapper.class)
+public interface ItemMapper {
+
+    ItemDto mapToItemDto(Item item);
+
+    PlainItemDto mapToPlainItemDto(Item item);
+
+    Item mapToItem(ItemDto itemDto);
+
+    Item mapToItem(PlainItemDto plainItemDto);
+}
@@ -1,7 +1,9 @@
 package com.devminds.rentify.config;
 
+import com.devminds.rentify.auth.AuthenticatedUser;
+import com.devminds.rentify.auth.TokenRevocationService;
+import com.devminds.rentify.repository.UserRepository;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,14 +12,12 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.security.Key;
 import java.util.Date;
 
 @Component
@@ -25,7 +25,9 @@ import java.util.Date;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -45,8 +47,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
 
-            Key signInKey = jwtService.getSignInKey();
-            Claims claims = Jwts.parserBuilder().setSigningKey(signInKey).build().parseClaimsJws(jwt).getBody();
+            Claims claims = jwtService.parseClaims(jwt);
+            if (jwtService.isRefreshToken(claims)
+                    || claims.getId() != null && tokenRevocationService.isRevoked(claims.getId())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             // Check if the token is expired
             Date expiration = claims.getExpiration();
@@ -57,13 +63,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             userEmail = claims.getSubject();
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+                UsernamePasswordAuthenticationToken authToken = authenticate(claims, userEmail);
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -73,6 +73,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Self-contained tokens are trusted as they are; tokens that only carry the subject fall
+     * back to the cached user lookup.
+     */
+    private UsernamePasswordAuthenticationToken authenticate(Claims claims, String userEmail) {
+        AuthenticatedUser authenticatedUser = jwtService.toAuthenticatedUser(claims);
+        if (authenticatedUser != null) {
+            return new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities());
+        }
+
+        AuthenticatedUser cachedUser = principalCache.get(userEmail, email -> userRepository.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+        return new UsernamePasswordAuthenticationToken(cachedUser, null, cachedUser.getAuthorities());
+    }
+
 
 
 }
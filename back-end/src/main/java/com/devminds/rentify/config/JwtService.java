@@ -1,8 +1,11 @@
 package com.devminds.rentify.config;
 
+import com.devminds.rentify.auth.AuthenticatedUser;
 import com.devminds.rentify.entity.User;
+import com.devminds.rentify.enums.UserRole;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -27,43 +30,123 @@ import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String ACCESS_TOKEN_TYPE = "access";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     @Getter
     private  Key signInKey;
 
+    private final JwtParser jwtParser;
+
     @Value("${myapp.validation}")
     private int TOKEN_VALIDITY_DURATION;
 
+    @Getter
+    @Value("${application.auth.self-contained-tokens}")
+    private boolean selfContainedTokens;
+
+    @Value("${application.auth.access-token-ttl}")
+    private Duration accessTokenTtl;
+
+    @Value("${application.auth.refresh-token-ttl}")
+    private Duration refreshTokenTtl;
+
     public JwtService(Key signInKey) {
         this.signInKey = signInKey;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    }
+
+    /**
+     * Verifies the token with the shared parser, which is immutable and thread-safe, and
+     * returns its claims.
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Issues an access token. In self-contained mode the token also carries the user id and
+     * role and lives for {@code access-token-ttl}, so the filter can authenticate from the
+     * claims alone; otherwise it only names the user and lives for {@code myapp.validation}.
+     */
     public String generateToken(User userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        if (!selfContainedTokens) {
+            return generateToken(new HashMap<>(), userDetails);
+        }
+
+        Map<String, Object> claims = new HashMap<>();
+        AuthenticatedUser user = AuthenticatedUser.from(userDetails);
+        claims.put(USER_ID_CLAIM, user.id());
+        claims.put(ROLE_CLAIM, user.role().name());
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE);
+        return buildToken(claims, userDetails, accessTokenTtl.toMillis());
     }
 
     public String generateToken(Map<String, Object> extraClaims, User userDetails) {
-      return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY_DURATION))
-                .signWith(signInKey, SignatureAlgorithm.HS256)
-                .compact();
+        return buildToken(extraClaims, userDetails, TOKEN_VALIDITY_DURATION);
+    }
+
+    /**
+     * Issues a long-lived token that can only be exchanged for a new access token, which is
+     * where the user's current state is read again.
+     */
+    public String generateRefreshToken(User userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userDetails.getId());
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        return buildToken(claims, userDetails, refreshTokenTtl.toMillis());
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
 
+    public Long extractUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
 
+    /**
+     * Builds the principal from a self-contained access token, or returns {@code null} for a
+     * token that only names the user.
+     */
+    public AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        Long userId = extractUserId(claims);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null || !ACCESS_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))) {
+            return null;
+        }
+
+        return new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role));
+    }
 
+    private String buildToken(Map<String, Object> claims, User userDetails, long validityMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMillis))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 
 
@@ -80,7 +163,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-            return Jwts.parserBuilder().setSigningKey(signInKey).build().parseClaimsJws(token).getBody();
+            return parseClaims(token);
     }
 
 }
@@ -0,0 +1,13 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.dto.LikedItemDto;
+import com.devminds.rentify.entity.LikedItem;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MappingConfig.class, uses = {UserMapper.class, ItemMapper.class})
+public interface LikedItemMapper {
+
+    LikedItemDto mapToLikedItemDto(LikedItem likedItem);
+
+    LikedItem mapToLikedItem(LikedItemDto likedItemDto);
+}
@@ -1,13 +0,0 @@
-package com.devminds.rentify.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class Mapper {
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
-}
@@ -0,0 +1,16 @@
+package com.devminds.rentify.config;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings for the MapStruct mappers. Implementations are generated at compile time
+ * and registered as Spring beans, so no reflection happens on the request path.
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public interface MappingConfig {
+}
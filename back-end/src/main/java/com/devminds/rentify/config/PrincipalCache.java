@@ -0,0 +1,55 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.auth.AuthenticatedUser;
+import com.devminds.rentify.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of authenticated principals keyed by token subject, so requests carrying a
+ * valid token skip the user lookup. Entries are immutable {@link AuthenticatedUser}s rather
+ * than {@code User} entities, so the request threads sharing them never touch a detached
+ * entity or its lazy collections. Entries expire after {@code principal-cache-ttl}, which
+ * bounds how long a change made outside this application stays unseen; changes made through
+ * JPA evict the user right after commit.
+ */
+@Component
+public class PrincipalCache {
+    private final Cache<String, AuthenticatedUser> principals;
+
+    public PrincipalCache(@Value("${application.auth.principal-cache-size}") long maximumSize,
+                          @Value("${application.auth.principal-cache-ttl}") Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public AuthenticatedUser get(String subject, Function<String, AuthenticatedUser> loader) {
+        return principals.get(subject, loader);
+    }
+
+    /**
+     * Drops every entry of the user, including one cached under an email it no longer has.
+     */
+    public void invalidate(Long userId) {
+        principals.asMap().values().removeIf(principal -> userId.equals(principal.id()));
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.user().getId() != null) {
+            invalidate(event.user().getId());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.dto.RentDto;
+import com.devminds.rentify.entity.Rent;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface RentMapper {
+
+    @Mapping(target = "itemId", source = "item.id")
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "paymentId", source = "payment.id")
+    @Mapping(target = "amount", source = "payment.amount")
+    @Mapping(target = "paymentStatus", source = "payment.status")
+    @Mapping(target = "paymentMethod", source = "payment.paymentMethod")
+    RentDto mapToRentDto(Rent rent);
+}
@@ -1,20 +1,21 @@
 package com.devminds.rentify.config;
 
+import com.devminds.rentify.dto.PlainUserDto;
+import com.devminds.rentify.dto.UserDto;
 import com.devminds.rentify.dto.UserRegisterDto;
 import com.devminds.rentify.entity.User;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
 
-@Component
-@RequiredArgsConstructor
-public class UserMapper {
+@Mapper(config = MappingConfig.class)
+public interface UserMapper {
 
-    private final ModelMapper modelMapper;
+    User mapToUser(UserRegisterDto userRegisterDto);
 
-    public User mapToUser(UserRegisterDto userRegisterDto) {
-        return modelMapper.map(userRegisterDto, User.class);
-    }
+    User mapToUser(PlainUserDto plainUserDto);
+
+    UserDto mapToUserDto(User user);
+
+    PlainUserDto mapToPlainUserDto(User user);
 
 }
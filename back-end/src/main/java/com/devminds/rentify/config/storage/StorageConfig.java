@@ -1,5 +1,6 @@
 package com.devminds.rentify.config.storage;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
@@ -21,6 +22,20 @@ public class StorageConfig {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    @Value("${application.storage.download.max-in-flight}")
+    private int maxDownloadsInFlight;
+
+    @Value("${application.storage.upload.threads}")
+    private int uploadThreads;
+
+    @Value("${application.storage.variants.threads}")
+    private int variantThreads;
+
+    /**
+     * Every download in flight holds a pooled connection until the client has read the body,
+     * so the pool has room for all of them plus the upload and rendition workers; with the
+     * default of 50, downloads would queue inside the client instead of being turned away.
+     */
     @Bean
     public AmazonS3 s3Client() {
         AWSCredentials credentials = new BasicAWSCredentials(
@@ -31,6 +46,9 @@ public class StorageConfig {
                 .standard()
                 .withCredentials(new AWSStaticCredentialsProvider(credentials))
                 .withRegion(region)
+                .withClientConfiguration(new ClientConfiguration()
+                        .withMaxConnections(Math.max(ClientConfiguration.DEFAULT_MAX_CONNECTIONS,
+                                maxDownloadsInFlight + uploadThreads + variantThreads)))
                 .build();
     }
 
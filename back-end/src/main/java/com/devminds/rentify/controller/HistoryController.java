@@ -1,16 +1,23 @@
 package com.devminds.rentify.controller;
 
 import com.devminds.rentify.dto.HistoryDto;
+import com.devminds.rentify.dto.UniqueViewersDto;
+import com.devminds.rentify.dto.ViewCountDto;
+import com.devminds.rentify.dto.ViewSeriesPointDto;
 import com.devminds.rentify.service.HistoryService;
+import com.devminds.rentify.service.view.ViewGranularity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin
@@ -38,4 +45,48 @@ public class HistoryController {
     public ResponseEntity<List<HistoryDto>> getAllViewsByItemId(@PathVariable Long id) {
         return new ResponseEntity<>(historyService.getAllViewsByItemId(id), HttpStatus.OK);
     }
+
+    @GetMapping("/items/{id}/count")
+    public ResponseEntity<ViewCountDto> getItemViewCount(@PathVariable Long id) {
+        return new ResponseEntity<>(historyService.getItemViewCount(id), HttpStatus.OK);
+    }
+
+    @GetMapping("/items/{id}/series")
+    public ResponseEntity<List<ViewSeriesPointDto>> getItemViewSeries(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "DAILY") ViewGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new ResponseEntity<>(historyService.getItemViewSeries(id, granularity, from, to), HttpStatus.OK);
+    }
+
+    @GetMapping("/owners/{id}/count")
+    public ResponseEntity<ViewCountDto> getOwnerViewCount(@PathVariable Long id) {
+        return new ResponseEntity<>(historyService.getOwnerViewCount(id), HttpStatus.OK);
+    }
+
+    @GetMapping("/owners/{id}/series")
+    public ResponseEntity<List<ViewSeriesPointDto>> getOwnerViewSeries(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "DAILY") ViewGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new ResponseEntity<>(historyService.getOwnerViewSeries(id, granularity, from, to), HttpStatus.OK);
+    }
+
+    @GetMapping("/items/{id}/unique")
+    public ResponseEntity<UniqueViewersDto> getItemUniqueViewers(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new ResponseEntity<>(historyService.getItemUniqueViewers(id, from, to), HttpStatus.OK);
+    }
+
+    @GetMapping("/owners/{id}/unique")
+    public ResponseEntity<UniqueViewersDto> getOwnerUniqueViewers(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return new ResponseEntity<>(historyService.getOwnerUniqueViewers(id, from, to), HttpStatus.OK);
+    }
 }
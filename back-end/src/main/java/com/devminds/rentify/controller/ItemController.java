@@ -1,15 +1,27 @@
 package com.devminds.rentify.controller;
 
+import com.devminds.rentify.auth.CurrentUser;
+import com.devminds.rentify.dto.FacetsDto;
+import com.devminds.rentify.dto.ItemCalendarDto;
 import com.devminds.rentify.dto.ItemDto;
+import com.devminds.rentify.dto.ItemPageDto;
+import com.devminds.rentify.dto.NearbyItemDto;
+import com.devminds.rentify.dto.SimilarItemDto;
+import com.devminds.rentify.dto.TrendingItemDto;
+import com.devminds.rentify.service.HistoryService;
 import com.devminds.rentify.service.ItemService;
+import com.devminds.rentify.service.facet.FacetFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin
@@ -17,24 +29,87 @@ import java.util.List;
 @RequestMapping("/rentify/items")
 public class ItemController {
     private final ItemService itemService;
+    private final HistoryService historyService;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, HistoryService historyService) {
         this.itemService = itemService;
+        this.historyService = historyService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ItemDto>> getAllItems() {
-        return ResponseEntity.ok(itemService.getAllItems());
+    public ResponseEntity<ItemPageDto> getAllItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(name = "available_from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate availableFrom,
+            @RequestParam(name = "available_to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate availableTo) {
+        return ResponseEntity.ok(itemService.getAllItems(cursor, size, availableFrom, availableTo));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetsDto> getFacets(@RequestParam(required = false) Long categoryId,
+                                               @RequestParam(required = false) String city,
+                                               @RequestParam(required = false) Integer priceRange) {
+        return ResponseEntity.ok(itemService.getFacets(new FacetFilter(categoryId, city, priceRange)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam("q") String query,
+                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(itemService.searchItems(query, limit));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyItemDto>> getNearbyItems(@RequestParam("lat") double latitude,
+                                                              @RequestParam("lon") double longitude,
+                                                              @RequestParam(required = false) Double radiusKm,
+                                                              @RequestParam(required = false) Long categoryId,
+                                                              @RequestParam(required = false) Double minPrice,
+                                                              @RequestParam(required = false) Double maxPrice,
+                                                              @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(itemService.getNearbyItems(
+                latitude, longitude, radiusKm, categoryId, minPrice, maxPrice, limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingItemDto>> getTrendingItems(@RequestParam(required = false) Long categoryId,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(itemService.getTrendingItems(categoryId, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ItemDto> getItemById(@PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItemById(id));
+        ItemDto item = itemService.getItemById(id);
+        historyService.recordView(item.getId(), item.getCategory() != null ? item.getCategory().getId() : null,
+                CurrentUser.id().orElse(null));
+        return ResponseEntity.ok(item);
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarItemDto>> getSimilarItems(@PathVariable Long id,
+                                                                @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(itemService.getSimilarItems(id, limit));
     }
 
     @GetMapping("/category/{id}")
-    public ResponseEntity<List<ItemDto>> getItemsByCategoryId(@PathVariable Long id) {
-        return ResponseEntity.ok(itemService.getItemsByCategoryId(id));
+    public ResponseEntity<ItemPageDto> getItemsByCategoryId(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(name = "available_from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate availableFrom,
+            @RequestParam(name = "available_to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate availableTo) {
+        return ResponseEntity.ok(itemService.getItemsByCategoryId(id, cursor, size, availableFrom, availableTo));
+    }
+
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<ItemCalendarDto> getItemCalendar(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(itemService.getItemCalendar(id, from, to));
     }
 }
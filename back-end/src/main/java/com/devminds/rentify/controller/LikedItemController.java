@@ -1,13 +1,17 @@
 package com.devminds.rentify.controller;
 
+import com.devminds.rentify.auth.CurrentUser;
 import com.devminds.rentify.dto.LikedItemDto;
+import com.devminds.rentify.exception.UserNotFoundException;
 import com.devminds.rentify.service.LikedItemService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,6 +21,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/rentify/likes")
 public class LikedItemController {
+    private static final String NOT_AUTHENTICATED_MESSAGE = "User not authenticated";
     private final LikedItemService likedItemService;
 
     @Autowired
@@ -38,4 +43,20 @@ public class LikedItemController {
     public ResponseEntity<List<LikedItemDto>> getAllLikesByItemId(@PathVariable Long id) {
         return new ResponseEntity<>(likedItemService.getAllLikesByItemId(id), HttpStatus.OK);
     }
+
+    @PostMapping("/items/{id}")
+    public ResponseEntity<Void> likeItem(@PathVariable Long id) {
+        likedItemService.likeItem(currentUserId(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/items/{id}")
+    public ResponseEntity<Void> unlikeItem(@PathVariable Long id) {
+        likedItemService.unlikeItem(currentUserId(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Long currentUserId() {
+        return CurrentUser.id().orElseThrow(() -> new UserNotFoundException(NOT_AUTHENTICATED_MESSAGE));
+    }
 }
@@ -0,0 +1,46 @@
+package com.devminds.rentify.controller;
+
+import com.devminds.rentify.auth.CurrentUser;
+import com.devminds.rentify.dto.BookingDto;
+import com.devminds.rentify.dto.RentDto;
+import com.devminds.rentify.exception.UserNotFoundException;
+import com.devminds.rentify.service.BookingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/rentify/rents")
+public class RentController {
+    private static final String NOT_AUTHENTICATED_MESSAGE = "User not authenticated";
+    private final BookingService bookingService;
+
+    @Autowired
+    public RentController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RentDto> bookItem(@Valid @RequestBody BookingDto booking) {
+        return new ResponseEntity<>(bookingService.bookItem(currentUserId(), booking), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelRent(@PathVariable Integer id) {
+        bookingService.cancelRent(currentUserId(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Long currentUserId() {
+        return CurrentUser.id().orElseThrow(() -> new UserNotFoundException(NOT_AUTHENTICATED_MESSAGE));
+    }
+}
@@ -1,56 +1,141 @@
 package com.devminds.rentify.controller;
 
+import com.devminds.rentify.dto.ImageUploadResultDto;
+import com.devminds.rentify.exception.StoredFileNotFoundException;
 import com.devminds.rentify.service.StorageService;
+import com.devminds.rentify.service.download.ImageDiskCache;
+import com.devminds.rentify.service.download.ImageDownloadService;
+import com.devminds.rentify.service.download.StoredFile;
+import com.devminds.rentify.service.upload.ImageUploadPipeline;
+import com.devminds.rentify.service.variant.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.List;
 
 @CrossOrigin
 @RestController
 @RequestMapping("rentify/images")
 public class StorageController {
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private StorageService service;
 
+    @Autowired
+    private ImageUploadPipeline imageUploadPipeline;
+
+    @Autowired
+    private ImageDownloadService imageDownloadService;
+
+    @Autowired
+    private ImageDiskCache imageDiskCache;
+
+    @Value("${application.storage.upload.timeout-ms}")
+    private long uploadTimeoutMs;
+
     @PostMapping("/upload")
     public ResponseEntity<URL> uploadFile(@RequestParam(value = "file") MultipartFile file) throws IOException {
         return new ResponseEntity<>(service.uploadFile(file), HttpStatus.OK);
     }
 
+    /**
+     * Uploads the files in parallel and answers once all of them are done, with one result
+     * per file in request order. Responds 207 when only some of the files were stored. When
+     * the client disconnects or the request times out, the remaining uploads are cancelled.
+     */
     @PostMapping("/upload-images")
-    public ResponseEntity<List<URL>> uploadFiles(@RequestParam(value = "files") List<MultipartFile> files)
-            throws IOException {
-        return new ResponseEntity<>(service.uploadFiles(files), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<List<ImageUploadResultDto>>> uploadFiles(
+            @RequestParam(value = "files") List<MultipartFile> files) {
+        DeferredResult<ResponseEntity<List<ImageUploadResultDto>>> result = new DeferredResult<>(uploadTimeoutMs);
+        ImageUploadPipeline.UploadBatch batch = imageUploadPipeline.start(files, results -> {
+            boolean allStored = results.stream().allMatch(upload -> upload.getError() == null);
+            result.setResult(new ResponseEntity<>(results, allStored ? HttpStatus.OK : HttpStatus.MULTI_STATUS));
+        });
+        result.onTimeout(batch::cancel);
+        result.onError(error -> batch.cancel());
+        return result;
     }
 
+    /**
+     * Streams the file from storage with a fixed-size buffer. Supports a single byte range
+     * and {@code If-None-Match}, answering 206, 304 or 416 as appropriate. With a
+     * {@code variant} the resized rendition is served, or the original while the rendition
+     * has not been produced yet. Files in the local cache are handed to Tomcat's sendfile
+     * when the connector supports it, so their bytes never pass through the JVM.
+     */
     @GetMapping("/download/{fileName}")
-    public ResponseEntity<ByteArrayResource> downloadFile(@PathVariable String fileName) throws IOException {
-        byte[] data = service.downloadFile(fileName);
-        ByteArrayResource resource = new ByteArrayResource(data);
-        return ResponseEntity
-                .ok()
-                .contentLength(data.length)
-                .header("Content-type", "application/octet-stream")
-                .header("Content-disposition", "attachment; filename=\"" + fileName + "\"")
-                .body(resource);
+    public ResponseEntity<StreamingResponseBody> downloadFile(
+            HttpServletRequest request,
+            @PathVariable String fileName,
+            @RequestParam(value = "variant", required = false) String variant,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch)
+            throws IOException {
+        StoredFile file = open(fileName, variant, range, ifNoneMatch);
+        HttpHeaders headers = downloadHeaders(fileName, file);
+        switch (file.getStatus()) {
+            case NOT_MODIFIED -> {
+                file.close();
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+            case RANGE_NOT_SATISFIABLE -> {
+                file.close();
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + file.getLength());
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+            default -> {
+                HttpStatus status = file.getRange() != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK;
+                if (sendfile(request, file)) {
+                    return ResponseEntity.status(status).headers(headers).build();
+                }
+
+                StreamingResponseBody body = outputStream -> {
+                    try (file) {
+                        file.writeTo(outputStream, imageDownloadService.getBufferSize());
+                    }
+                };
+                return ResponseEntity.status(status).headers(headers).body(body);
+            }
+        }
+    }
+
+    @RequestMapping(value = "/download/{fileName}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> headFile(@PathVariable String fileName) {
+        StoredFile file = imageDownloadService.head(fileName);
+        return ResponseEntity.ok().headers(downloadHeaders(fileName, file)).build();
     }
 
     @DeleteMapping("/delete/{fileName}")
     public ResponseEntity<String> deleteFile(@PathVariable String fileName) {
+        imageDiskCache.invalidate(fileName);
+        for (ImageVariant variant : ImageVariant.values()) {
+            imageDiskCache.invalidate(variant.keyFor(fileName));
+        }
         return new ResponseEntity<>(service.deleteFile(fileName), HttpStatus.OK);
     }
 
@@ -59,4 +144,56 @@ public class StorageController {
         return new ResponseEntity<>(service.listObjectsInBucket(), HttpStatus.OK);
     }
 
+    private StoredFile open(String fileName, String variant, String range, List<String> ifNoneMatch) {
+        if (variant == null) {
+            return imageDownloadService.open(fileName, range, ifNoneMatch);
+        }
+
+        String variantKey = ImageVariant.fromName(variant).keyFor(fileName);
+        try {
+            return imageDownloadService.open(variantKey, range, ifNoneMatch);
+        } catch (StoredFileNotFoundException e) {
+            return imageDownloadService.open(fileName, range, ifNoneMatch);
+        }
+    }
+
+    /**
+     * Asks Tomcat to send the local copy after the handler returns. The file is only opened
+     * then, which the disk cache allows for by deleting evicted files after a delay. The
+     * download slot is released right away, as sendfile holds no request thread.
+     */
+    private static boolean sendfile(HttpServletRequest request, StoredFile file) throws IOException {
+        Path path = file.getLocalPath();
+        if (path == null || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            return false;
+        }
+
+        long start = file.getRange() != null ? file.getRange().start() : 0;
+        request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, path.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+        request.setAttribute(SENDFILE_END_ATTRIBUTE, start + file.getContentLength());
+        file.close();
+        return true;
+    }
+
+    private HttpHeaders downloadHeaders(String fileName, StoredFile file) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (file.getETag() != null) {
+            headers.setETag("\"" + file.getETag() + "\"");
+        }
+        if (file.getStatus() == StoredFile.Status.CONTENT || file.getStatus() == StoredFile.Status.METADATA) {
+            headers.set(HttpHeaders.CONTENT_TYPE, file.getContentType() != null
+                    ? file.getContentType()
+                    : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            headers.setContentLength(file.getContentLength());
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        }
+        if (file.getRange() != null) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + file.getRange().start() + "-" + file.getRange().end()
+                    + "/" + file.getLength());
+        }
+        return headers;
+    }
+
 }
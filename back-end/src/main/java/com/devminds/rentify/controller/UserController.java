@@ -1,13 +1,18 @@
 package com.devminds.rentify.controller;
 
 import com.devminds.rentify.dto.UserDto;
+import com.devminds.rentify.dto.UserImportResultDto;
+import com.devminds.rentify.dto.UserRegisterDto;
 import com.devminds.rentify.service.UserServiceImpl;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,6 +21,7 @@ import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
+@Validated
 @RequestMapping("/rentify")
 public class UserController {
 
@@ -40,4 +46,9 @@ public class UserController {
         return new ResponseEntity<>(userService.getUserById(id), HttpStatus.OK);
     }
 
+    @PostMapping("/users/import")
+    public ResponseEntity<UserImportResultDto> importUsers(@RequestBody List<@Valid UserRegisterDto> users) {
+        return new ResponseEntity<>(userService.importUsers(users), HttpStatus.CREATED);
+    }
+
 }
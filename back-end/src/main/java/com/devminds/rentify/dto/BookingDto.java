@@ -0,0 +1,23 @@
+package com.devminds.rentify.dto;
+
+import com.devminds.rentify.enums.PaymentMethod;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class BookingDto {
+
+    @NotNull(message = "itemId is required")
+    private Long itemId;
+
+    @NotNull(message = "startDate is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "endDate is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "paymentMethod is required")
+    private PaymentMethod paymentMethod;
+}
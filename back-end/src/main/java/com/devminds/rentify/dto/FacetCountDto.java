@@ -0,0 +1,12 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FacetCountDto {
+    private String value;
+    private String label;
+    private int count;
+}
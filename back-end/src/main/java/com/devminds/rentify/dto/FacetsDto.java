@@ -0,0 +1,14 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class FacetsDto {
+    private List<FacetCountDto> categories;
+    private List<FacetCountDto> cities;
+    private List<FacetCountDto> priceRanges;
+}
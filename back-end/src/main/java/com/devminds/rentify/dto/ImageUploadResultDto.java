@@ -0,0 +1,14 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.net.URL;
+
+@Data
+@AllArgsConstructor
+public class ImageUploadResultDto {
+    private String fileName;
+    private URL url;
+    private String error;
+}
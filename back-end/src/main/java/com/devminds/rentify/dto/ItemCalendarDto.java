@@ -0,0 +1,16 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemCalendarDto {
+    private Long itemId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<LocalDate> bookedDays;
+}
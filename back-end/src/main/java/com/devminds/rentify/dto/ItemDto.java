@@ -32,6 +32,10 @@ public class ItemDto {
     @NotEmpty
     private float deposit;
 
+    private int likeCount;
+
+    private boolean likedByMe;
+
     private Category category;
 
     @NotNull
@@ -0,0 +1,14 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemPageDto {
+    private List<ItemDto> items;
+    private String nextCursor;
+    private FacetsDto facets;
+}
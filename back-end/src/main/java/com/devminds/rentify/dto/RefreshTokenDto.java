@@ -0,0 +1,10 @@
+package com.devminds.rentify.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class RefreshTokenDto {
+    @NotEmpty
+    private String refreshToken;
+}
@@ -0,0 +1,21 @@
+package com.devminds.rentify.dto;
+
+import com.devminds.rentify.enums.PaymentMethod;
+import com.devminds.rentify.enums.PaymentStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+public class RentDto {
+    private Integer id;
+    private Long itemId;
+    private Long userId;
+    private Date startDate;
+    private Date endDate;
+    private Integer paymentId;
+    private BigDecimal amount;
+    private PaymentStatus paymentStatus;
+    private PaymentMethod paymentMethod;
+}
@@ -0,0 +1,11 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TrendingItemDto {
+    private ItemDto item;
+    private long views;
+}
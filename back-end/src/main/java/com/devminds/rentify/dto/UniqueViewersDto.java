@@ -0,0 +1,15 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class UniqueViewersDto {
+    private Long id;
+    private LocalDate from;
+    private LocalDate to;
+    private long uniqueViewers;
+}
@@ -0,0 +1,14 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserImportResultDto {
+    private int requested;
+    private int imported;
+    private List<String> duplicateEmails;
+}
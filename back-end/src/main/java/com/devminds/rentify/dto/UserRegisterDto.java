@@ -1,8 +1,8 @@
 package com.devminds.rentify.dto;
 
 import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,7 +24,7 @@ public class UserRegisterDto {
     private String email;
 
     @NotEmpty(message = "password is required")
-    @Min(8)
+    @Size(min = 8, message = "password must have at least 8 characters")
     private String password;
 
     @NotEmpty(message = "confirm password is required")
@@ -0,0 +1,12 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ViewCountDto {
+    private Long id;
+    private long views;
+    private Long uniqueUsers;
+}
@@ -0,0 +1,14 @@
+package com.devminds.rentify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ViewSeriesPointDto {
+    private LocalDateTime bucket;
+    private long views;
+    private Long uniqueUsers;
+}
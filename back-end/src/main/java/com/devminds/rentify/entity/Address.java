@@ -1,5 +1,6 @@
 package com.devminds.rentify.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -42,4 +43,14 @@ public class Address {
     @Size(max = 10)
     private String streetNumber;
 
+    @Column
+    private Double latitude;
+
+    @Column
+    private Double longitude;
+
+    @JsonIgnore
+    @Column(name = "geocode_failed")
+    private boolean geocodeFailed;
+
 }
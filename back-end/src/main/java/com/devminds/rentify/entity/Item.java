@@ -1,11 +1,16 @@
 package com.devminds.rentify.entity;
 
+import com.devminds.rentify.event.ItemEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
@@ -20,7 +25,19 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "item")
+@EntityListeners(ItemEntityListener.class)
+@NamedEntityGraph(
+        name = Item.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("category"),
+                @NamedAttributeNode(value = "user", subgraph = "user"),
+                @NamedAttributeNode("address")
+        },
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("role"))
+)
 public class Item {
+    public static final String DETAILS_GRAPH = "Item.details";
+
     @GeneratedValue(strategy = GenerationType.AUTO)
     @Id
     private Long id;
@@ -49,6 +66,9 @@ public class Item {
     @Column(name = "deposit")
     private float deposit;
 
+    @Column(name = "like_count", insertable = false, updatable = false)
+    private int likeCount;
+
     @ManyToOne
     private Category category;
 
@@ -12,7 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
-import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
@@ -23,19 +23,19 @@ import java.util.Date;
 @Entity
 @Table(name = "payment")
 public class Payment {
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
     private int id;
 
-    @NotEmpty
+    @NotNull
     @Positive
-    @Column(name = "amount")
+    @Column(name = "amount", precision = 12, scale = 2)
     private BigDecimal amount;
 
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
 
-    @NotEmpty
+    @NotNull
     private Date date;
 
     @ManyToOne
@@ -45,6 +45,7 @@ public class Payment {
     private User receiver;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "method")
     private PaymentMethod paymentMethod;
 
     @OneToOne
@@ -1,14 +1,16 @@
 package com.devminds.rentify.entity;
 
+import com.devminds.rentify.event.RentEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
-import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.util.Date;
@@ -16,8 +18,9 @@ import java.util.Date;
 @Data
 @Entity
 @Table(name = "rent")
+@EntityListeners(RentEntityListener.class)
 public class Rent {
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
     private int id;
 
@@ -27,11 +30,11 @@ public class Rent {
     @ManyToOne
     private User user;
 
-    @NotEmpty
+    @NotNull
     @Column(name = "start_date")
     private Date startDate;
 
-    @NotEmpty
+    @NotNull
     @Column(name = "end_date")
     private Date endDate;
 
@@ -0,0 +1,24 @@
+package com.devminds.rentify.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken {
+    @Id
+    @Column(name = "jti")
+    private String jti;
+
+    @Column(name = "revoked_at")
+    private Date revokedAt;
+
+    @Column(name = "expires_at")
+    private Date expiresAt;
+}
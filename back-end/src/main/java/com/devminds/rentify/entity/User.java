@@ -2,9 +2,11 @@ package com.devminds.rentify.entity;
 
 
 import com.devminds.rentify.enums.UserRole;
+import com.devminds.rentify.event.UserEntityListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -16,6 +18,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +30,7 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "user")
+@EntityListeners(UserEntityListener.class)
 public class User implements UserDetails {
 
     @Id
@@ -62,6 +66,7 @@ public class User implements UserDetails {
 
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "id")
+    @BatchSize(size = 100)
     private List<Address> addresses;
 
 
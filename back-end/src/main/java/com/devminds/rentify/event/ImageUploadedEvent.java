@@ -0,0 +1,8 @@
+package com.devminds.rentify.event;
+
+/**
+ * Published after an image has been stored under {@code storageKey}, so that derived
+ * renditions can be produced without holding up the upload request.
+ */
+public record ImageUploadedEvent(String storageKey, String contentType) {
+}
@@ -0,0 +1,10 @@
+package com.devminds.rentify.event;
+
+import com.devminds.rentify.entity.Item;
+
+/**
+ * Published after an {@link Item} is persisted, updated or removed so that the in-memory
+ * read models built on top of the catalog can be kept up to date incrementally.
+ */
+public record ItemChangedEvent(Item item, boolean removed) {
+}
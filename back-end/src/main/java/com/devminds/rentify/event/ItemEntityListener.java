@@ -0,0 +1,28 @@
+package com.devminds.rentify.event;
+
+import com.devminds.rentify.entity.Item;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ItemEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ItemEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        eventPublisher.publishEvent(new ItemChangedEvent(item, false));
+    }
+
+    @PostRemove
+    public void onRemove(Item item) {
+        eventPublisher.publishEvent(new ItemChangedEvent(item, true));
+    }
+}
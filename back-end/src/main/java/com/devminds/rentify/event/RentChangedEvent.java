@@ -0,0 +1,9 @@
+package com.devminds.rentify.event;
+
+import com.devminds.rentify.entity.Rent;
+
+/**
+ * Published after a {@link Rent} is created, changed or cancelled (removed).
+ */
+public record RentChangedEvent(Rent rent, boolean removed) {
+}
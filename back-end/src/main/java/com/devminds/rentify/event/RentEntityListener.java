@@ -0,0 +1,28 @@
+package com.devminds.rentify.event;
+
+import com.devminds.rentify.entity.Rent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RentEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RentEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Rent rent) {
+        eventPublisher.publishEvent(new RentChangedEvent(rent, false));
+    }
+
+    @PostRemove
+    public void onRemove(Rent rent) {
+        eventPublisher.publishEvent(new RentChangedEvent(rent, true));
+    }
+}
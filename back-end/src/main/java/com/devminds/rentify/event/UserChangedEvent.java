@@ -0,0 +1,10 @@
+package com.devminds.rentify.event;
+
+import com.devminds.rentify.entity.User;
+
+/**
+ * Published after a {@link User} is persisted, updated or removed so that cached copies of
+ * the user, such as authenticated principals, can be dropped.
+ */
+public record UserChangedEvent(User user, boolean removed) {
+}
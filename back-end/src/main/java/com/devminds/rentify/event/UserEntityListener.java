@@ -0,0 +1,28 @@
+package com.devminds.rentify.event;
+
+import com.devminds.rentify.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user, false));
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user, true));
+    }
+}
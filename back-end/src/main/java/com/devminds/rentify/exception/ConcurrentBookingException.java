@@ -0,0 +1,11 @@
+package com.devminds.rentify.exception;
+
+public class ConcurrentBookingException extends RuntimeException {
+    public ConcurrentBookingException(String message) {
+        super(message);
+    }
+
+    public ConcurrentBookingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.devminds.rentify.exception;
+
+public class InvalidImageVariantException extends RuntimeException {
+    public InvalidImageVariantException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.devminds.rentify.exception;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
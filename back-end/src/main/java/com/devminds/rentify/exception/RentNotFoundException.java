@@ -0,0 +1,11 @@
+package com.devminds.rentify.exception;
+
+public class RentNotFoundException extends ObjectNotFoundException {
+    public RentNotFoundException(String message) {
+        super(message);
+    }
+
+    public RentNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
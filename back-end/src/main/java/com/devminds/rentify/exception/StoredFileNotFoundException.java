@@ -0,0 +1,7 @@
+package com.devminds.rentify.exception;
+
+public class StoredFileNotFoundException extends ObjectNotFoundException {
+    public StoredFileNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.devminds.rentify.exception;
+
+public class TooManyDownloadsException extends RuntimeException {
+    public TooManyDownloadsException(String message) {
+        super(message);
+    }
+}
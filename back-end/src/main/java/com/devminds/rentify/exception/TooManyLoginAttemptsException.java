@@ -0,0 +1,7 @@
+package com.devminds.rentify.exception;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+    public TooManyLoginAttemptsException(String message) {
+        super(message);
+    }
+}
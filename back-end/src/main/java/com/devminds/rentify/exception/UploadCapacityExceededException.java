@@ -0,0 +1,8 @@
+package com.devminds.rentify.exception;
+
+public class UploadCapacityExceededException extends RuntimeException {
+
+    public UploadCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
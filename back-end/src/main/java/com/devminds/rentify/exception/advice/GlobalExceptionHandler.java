@@ -1,7 +1,21 @@
 package com.devminds.rentify.exception.advice;
 
+import com.devminds.rentify.exception.BookingConflictException;
 import com.devminds.rentify.exception.CategoryNotFoundException;
+import com.devminds.rentify.exception.ConcurrentBookingException;
+import com.devminds.rentify.exception.DuplicateEntityException;
+import com.devminds.rentify.exception.InvalidCursorException;
+import com.devminds.rentify.exception.InvalidDateRangeException;
+import com.devminds.rentify.exception.InvalidImageVariantException;
+import com.devminds.rentify.exception.InvalidTokenException;
 import com.devminds.rentify.exception.ItemNotFoundException;
+import com.devminds.rentify.exception.PasswordHashingOverloadedException;
+import com.devminds.rentify.exception.RentNotFoundException;
+import com.devminds.rentify.exception.StoredFileNotFoundException;
+import com.devminds.rentify.exception.TooManyDownloadsException;
+import com.devminds.rentify.exception.TooManyLoginAttemptsException;
+import com.devminds.rentify.exception.UploadCapacityExceededException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,9 +25,42 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 public class GlobalExceptionHandler {
     private static final String ERROR_MESSAGE_TEMPLATE = "{ \"error\": \"%s\" }";
 
-    @ExceptionHandler(value = {ItemNotFoundException.class, CategoryNotFoundException.class})
+    @ExceptionHandler(value = {ItemNotFoundException.class, CategoryNotFoundException.class, RentNotFoundException.class,
+            StoredFileNotFoundException.class})
     public ResponseEntity<String> handleNotFound(RuntimeException e) {
         String bodyOfResponse = String.format(ERROR_MESSAGE_TEMPLATE, e.getMessage());
         return new ResponseEntity<>(bodyOfResponse, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(value = {InvalidCursorException.class, InvalidDateRangeException.class,
+            InvalidImageVariantException.class, ConstraintViolationException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException e) {
+        String bodyOfResponse = String.format(ERROR_MESSAGE_TEMPLATE, e.getMessage());
+        return new ResponseEntity<>(bodyOfResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = {InvalidTokenException.class})
+    public ResponseEntity<String> handleUnauthorized(RuntimeException e) {
+        String bodyOfResponse = String.format(ERROR_MESSAGE_TEMPLATE, e.getMessage());
+        return new ResponseEntity<>(bodyOfResponse, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(value = {BookingConflictException.class, DuplicateEntityException.class})
+    public ResponseEntity<String> handleConflict(RuntimeException e) {
+        String bodyOfResponse = String.format(ERROR_MESSAGE_TEMPLATE, e.getMessage());
+        return new ResponseEntity<>(bodyOfResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(value = {TooManyLoginAttemptsException.class})
+    public ResponseEntity<String> handleTooManyRequests(RuntimeException e) {
+        String bodyOfResponse = String.format(ERROR_MESSAGE_TEMPLATE, e.getMessage());
+        return new ResponseEntity<>(bodyOfResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(value = {ConcurrentBookingException.class, PasswordHashingOverloadedException.class,
+            UploadCapacityExceededException.class, TooManyDownloadsException.class})
+    public ResponseEntity<String> handleServiceUnavailable(RuntimeException e) {
+        String bodyOfResponse = String.format(ERROR_MESSAGE_TEMPLATE, e.getMessage());
+        return new ResponseEntity<>(bodyOfResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
@@ -9,5 +9,6 @@ import java.util.List;
 public interface AddressRepository extends JpaRepository<Address , Integer> {
     List<Address> findByCity(String city);
     List<Address> findByPostCode(String postalCode);
+    List<Address> findByLatitudeIsNullAndGeocodeFailedFalse();
 
 }
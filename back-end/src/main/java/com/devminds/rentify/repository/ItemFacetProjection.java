@@ -0,0 +1,15 @@
+package com.devminds.rentify.repository;
+
+import java.math.BigDecimal;
+
+public interface ItemFacetProjection {
+    Long getId();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getCity();
+
+    BigDecimal getPrice();
+}
@@ -0,0 +1,17 @@
+package com.devminds.rentify.repository;
+
+import java.math.BigDecimal;
+
+public interface ItemGeoProjection {
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    String getPostCode();
+
+    Long getCategoryId();
+
+    BigDecimal getPrice();
+}
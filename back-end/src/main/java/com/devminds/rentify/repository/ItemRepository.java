@@ -1,12 +1,83 @@
 package com.devminds.rentify.repository;
 
 import com.devminds.rentify.entity.Item;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByCategoryId(Long id);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    Optional<Item> findWithDetailsById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids")
+    List<Item> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    @Query("SELECT i FROM Item i ORDER BY i.postedDate DESC, i.id DESC")
+    List<Item> findFirstPage(Limit limit);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.postedDate < :postedDate OR (i.postedDate = :postedDate AND i.id < :id) " +
+            "ORDER BY i.postedDate DESC, i.id DESC")
+    List<Item> findPageAfter(@Param("postedDate") Date postedDate, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    @Query("SELECT i FROM Item i WHERE i.category.id = :categoryId ORDER BY i.postedDate DESC, i.id DESC")
+    List<Item> findFirstPageByCategoryId(@Param("categoryId") Long categoryId, Limit limit);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.category.id = :categoryId " +
+            "AND (i.postedDate < :postedDate OR (i.postedDate = :postedDate AND i.id < :id)) " +
+            "ORDER BY i.postedDate DESC, i.id DESC")
+    List<Item> findPageByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                         @Param("postedDate") Date postedDate,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    List<Item> findWithDetailsByAddressId(int addressId);
+
+    @Query("SELECT MAX(i.id) FROM Item i")
+    Long findMaxId();
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, c.name AS categoryName " +
+            "FROM Item i LEFT JOIN i.category c " +
+            "WHERE i.id > :afterId AND i.id <= :maxId " +
+            "ORDER BY i.id")
+    List<ItemSearchProjection> findSearchProjections(@Param("afterId") Long afterId,
+                                                     @Param("maxId") Long maxId,
+                                                     Limit limit);
+
+    @Query("SELECT i.id AS id, a.latitude AS latitude, a.longitude AS longitude, a.postCode AS postCode, " +
+            "c.id AS categoryId, i.price AS price " +
+            "FROM Item i JOIN i.address a LEFT JOIN i.category c " +
+            "WHERE i.id > :afterId " +
+            "ORDER BY i.id")
+    List<ItemGeoProjection> findGeoProjections(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT i.id AS id, c.id AS categoryId, c.name AS categoryName, a.city AS city, i.price AS price " +
+            "FROM Item i LEFT JOIN i.category c LEFT JOIN i.address a " +
+            "WHERE i.id > :afterId " +
+            "ORDER BY i.id")
+    List<ItemFacetProjection> findFacetProjections(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,11 @@
+package com.devminds.rentify.repository;
+
+public interface ItemSearchProjection {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getCategoryName();
+}
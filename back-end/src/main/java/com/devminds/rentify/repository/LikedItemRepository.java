@@ -2,6 +2,8 @@ package com.devminds.rentify.repository;
 
 import com.devminds.rentify.entity.LikedItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,12 @@ public interface LikedItemRepository extends JpaRepository<LikedItem, Long> {
     List<LikedItem> getAllLikesByUserId(Long id);
 
     List<LikedItem> getAllLikesByItemId(Long id);
+
+    @Query("SELECT l.item.id FROM LikedItem l WHERE l.user.id = :userId")
+    List<Long> findItemIdsByUserId(Long userId);
+
+    boolean existsByItemIdAndUserId(Long itemId, Long userId);
+
+    @Transactional
+    long deleteByItemIdAndUserId(Long itemId, Long userId);
 }
@@ -0,0 +1,9 @@
+package com.devminds.rentify.repository;
+
+import com.devminds.rentify.entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+}
@@ -0,0 +1,13 @@
+package com.devminds.rentify.repository;
+
+import java.util.Date;
+
+public interface RentPeriodProjection {
+    Integer getId();
+
+    Long getItemId();
+
+    Date getStartDate();
+
+    Date getEndDate();
+}
@@ -0,0 +1,29 @@
+package com.devminds.rentify.repository;
+
+import com.devminds.rentify.entity.Rent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RentRepository extends JpaRepository<Rent, Integer> {
+
+    @Query("SELECT COUNT(r) > 0 FROM Rent r " +
+            "WHERE r.item.id = :itemId AND r.startDate <= :endDate AND r.endDate >= :startDate")
+    boolean existsOverlapping(@Param("itemId") Long itemId,
+                              @Param("startDate") Date startDate,
+                              @Param("endDate") Date endDate);
+
+    @Query("SELECT r.id AS id, r.item.id AS itemId, r.startDate AS startDate, r.endDate AS endDate " +
+            "FROM Rent r " +
+            "WHERE r.endDate >= :from AND r.id > :afterId " +
+            "ORDER BY r.id")
+    List<RentPeriodProjection> findPeriodsEndingAfter(@Param("from") Date from,
+                                                      @Param("afterId") Integer afterId,
+                                                      Limit limit);
+}
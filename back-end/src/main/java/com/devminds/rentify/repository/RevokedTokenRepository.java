@@ -0,0 +1,37 @@
+package com.devminds.rentify.repository;
+
+import com.devminds.rentify.entity.RevokedToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.jti > :afterJti AND r.expiresAt > :now ORDER BY r.jti")
+    List<String> findActiveJtisAfter(String afterJti, Date now, Limit limit);
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.revokedAt >= :since")
+    List<String> findJtisRevokedSince(Date since);
+
+    /**
+     * Plain INSERT, unlike {@code save}, which merges an entity with an assigned id and so
+     * never reports that the row already existed. A jti that is already revoked fails with
+     * a {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_token (jti, revoked_at, expires_at) VALUES (:jti, :revokedAt, :expiresAt)",
+            nativeQuery = true)
+    int insert(String jti, Date revokedAt, Date expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM revoked_token WHERE expires_at <= :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(Date now, int limit);
+}
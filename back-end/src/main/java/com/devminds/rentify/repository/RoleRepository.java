@@ -1,9 +1,8 @@
 package com.devminds.rentify.repository;
 
 import com.devminds.rentify.entity.Role;
+import com.devminds.rentify.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,7 +10,6 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Integer> {
 
-    @Query("SELECT u FROM Role u WHERE u.id = 2")
-    Role findUserRole();
+    Optional<Role> findByRole(UserRole role);
 
 }
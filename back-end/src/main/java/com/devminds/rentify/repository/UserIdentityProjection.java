@@ -0,0 +1,12 @@
+package com.devminds.rentify.repository;
+
+/**
+ * The unique attributes of a user, read in bulk to seed the duplicate pre-check.
+ */
+public interface UserIdentityProjection {
+    Long getId();
+
+    String getEmail();
+
+    String getPhoneNumber();
+}
@@ -1,11 +1,14 @@
 package com.devminds.rentify.repository;
 
 import com.devminds.rentify.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +18,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.phoneNumber = :phoneNumber")
     Optional<User> findByPhone(String phoneNumber);
 
+    boolean existsByEmail(String email);
+
+    boolean existsByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.phoneNumber AS phoneNumber FROM User u "
+            + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserIdentityProjection> findIdentitiesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
 }
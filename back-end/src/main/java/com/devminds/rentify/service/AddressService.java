@@ -1,21 +1,34 @@
 package com.devminds.rentify.service;
 
 import com.devminds.rentify.entity.Address;
+import com.devminds.rentify.event.ItemChangedEvent;
 import com.devminds.rentify.exception.AddressNotFoundException;
 import com.devminds.rentify.repository.AddressRepository;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.service.geo.PostcodeGeocoder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class AddressService {
     private static final String ADDRESS_NOT_FOUND_MESSAGE = "Category with %d id not found.";
     private final AddressRepository addressRepository;
+    private final PostcodeGeocoder postcodeGeocoder;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AddressService(AddressRepository addressRepository) {
+    public AddressService(AddressRepository addressRepository, PostcodeGeocoder postcodeGeocoder,
+                          ItemRepository itemRepository, ApplicationEventPublisher eventPublisher) {
         this.addressRepository = addressRepository;
+        this.postcodeGeocoder = postcodeGeocoder;
+        this.itemRepository = itemRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Address> getAllAddresses() {
@@ -35,11 +48,67 @@ public class AddressService {
         return addressRepository.findByPostCode(postalCode);
     }
 
+    /**
+     * Saves the address and republishes every item at it, so that the read models holding the
+     * item's location and city pick up the change. Coordinates follow the post code: they are
+     * kept while it is unchanged and looked up again when it changes.
+     */
     public Address saveAddress(Address address) {
-        return addressRepository.save(address);
+        Optional<Address> stored = address.getId() != 0
+                ? addressRepository.findById(address.getId())
+                : Optional.empty();
+        if (stored.isPresent() && Objects.equals(stored.get().getPostCode(), address.getPostCode())) {
+            address.setLatitude(stored.get().getLatitude());
+            address.setLongitude(stored.get().getLongitude());
+        } else {
+            address.setLatitude(null);
+            address.setLongitude(null);
+        }
+
+        geocode(address);
+        Address saved = addressRepository.save(address);
+        itemRepository.findWithDetailsByAddressId(saved.getId())
+                .forEach(item -> eventPublisher.publishEvent(new ItemChangedEvent(item, false)));
+
+        return saved;
+    }
+
+    /**
+     * Geocodes the addresses that have no coordinates yet. Post codes the geocoder does not
+     * know are marked as failed, so they are not looked up again on every startup; saving the
+     * address clears the mark.
+     */
+    public int geocodeMissingCoordinates() {
+        List<Address> addresses = addressRepository.findByLatitudeIsNullAndGeocodeFailedFalse();
+        int geocoded = 0;
+        for (Address address : addresses) {
+            if (geocode(address)) {
+                geocoded++;
+            }
+        }
+        addressRepository.saveAll(addresses);
+
+        return geocoded;
     }
 
     public void deleteAddressById(int id) {
         addressRepository.deleteById(id);
     }
+
+    private boolean geocode(Address address) {
+        if (address.getLatitude() != null && address.getLongitude() != null) {
+            return false;
+        }
+
+        boolean found = postcodeGeocoder.geocode(address.getPostCode())
+                .map(location -> {
+                    address.setLatitude(location.latitude());
+                    address.setLongitude(location.longitude());
+                    return true;
+                })
+                .orElse(false);
+        address.setGeocodeFailed(!found);
+
+        return found;
+    }
 }
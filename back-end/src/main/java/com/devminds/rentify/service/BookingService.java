@@ -0,0 +1,184 @@
+package com.devminds.rentify.service;
+
+import com.devminds.rentify.config.RentMapper;
+import com.devminds.rentify.dto.BookingDto;
+import com.devminds.rentify.dto.RentDto;
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.entity.Payment;
+import com.devminds.rentify.entity.Rent;
+import com.devminds.rentify.enums.PaymentStatus;
+import com.devminds.rentify.exception.BookingConflictException;
+import com.devminds.rentify.exception.ConcurrentBookingException;
+import com.devminds.rentify.exception.InvalidDateRangeException;
+import com.devminds.rentify.exception.ItemNotFoundException;
+import com.devminds.rentify.exception.RentNotFoundException;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.repository.PaymentRepository;
+import com.devminds.rentify.repository.RentRepository;
+import com.devminds.rentify.repository.UserRepository;
+import com.devminds.rentify.service.availability.ItemAvailabilityIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Creates rents without double booking. Bookings for the same item are serialized by a
+ * striped in-process lock, and the item row is locked with SELECT ... FOR UPDATE for the
+ * overlap check and insert. That row lock keeps several application instances safe without
+ * locking the rent table. Lock timeouts and deadlocks are retried with a linear backoff.
+ */
+@Service
+public class BookingService {
+    private static final String ITEM_NOT_FOUND_MESSAGE = "Item with %d id not found.";
+    private static final String RENT_NOT_FOUND_MESSAGE = "Rent with %d id not found.";
+    private static final String INVALID_DATE_RANGE_MESSAGE = "Date range %s - %s is invalid.";
+    private static final String ITEM_NOT_AVAILABLE_MESSAGE = "Item with %d id is not available from %s to %s.";
+    private static final String ITEM_BUSY_MESSAGE = "Item with %d id is being booked by someone else, try again.";
+
+    private final ItemRepository itemRepository;
+    private final RentRepository rentRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final RentMapper rentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] itemLocks;
+
+    @Value("${application.booking.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${application.booking.lock-timeout-ms}")
+    private long lockTimeoutMs;
+
+    @Value("${application.booking.retry-backoff-ms}")
+    private long retryBackoffMs;
+
+    public BookingService(ItemRepository itemRepository, RentRepository rentRepository,
+                          PaymentRepository paymentRepository, UserRepository userRepository,
+                          ItemAvailabilityIndex itemAvailabilityIndex, RentMapper rentMapper,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${application.booking.lock-stripes}") int lockStripes) {
+        this.itemRepository = itemRepository;
+        this.rentRepository = rentRepository;
+        this.paymentRepository = paymentRepository;
+        this.userRepository = userRepository;
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
+        this.rentMapper = rentMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.itemLocks = new ReentrantLock[Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1];
+        for (int i = 0; i < itemLocks.length; i++) {
+            itemLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public RentDto bookItem(Long userId, BookingDto booking) {
+        Long itemId = booking.getItemId();
+        LocalDate start = booking.getStartDate();
+        LocalDate end = booking.getEndDate();
+        if (end.isBefore(start) || start.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException(String.format(INVALID_DATE_RANGE_MESSAGE, start, end));
+        }
+        if (!itemAvailabilityIndex.isAvailable(itemId, start, end)) {
+            throw new BookingConflictException(String.format(ITEM_NOT_AVAILABLE_MESSAGE, itemId, start, end));
+        }
+
+        ReentrantLock lock = lockFor(itemId);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    try {
+                        return transactionTemplate.execute(status -> createRent(userId, booking));
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                if (attempt >= maxAttempts) {
+                    throw new ConcurrentBookingException(String.format(ITEM_BUSY_MESSAGE, itemId));
+                }
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ConcurrentBookingException(String.format(ITEM_BUSY_MESSAGE, itemId), e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrentBookingException(String.format(ITEM_BUSY_MESSAGE, itemId), e);
+            }
+
+            backOff(attempt);
+        }
+    }
+
+    public void cancelRent(Long userId, Integer rentId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Rent rent = rentRepository.findById(rentId)
+                    .filter(existing -> existing.getUser() != null && userId.equals(existing.getUser().getId()))
+                    .orElseThrow(() -> new RentNotFoundException(String.format(RENT_NOT_FOUND_MESSAGE, rentId)));
+
+            if (rent.getPayment() != null) {
+                paymentRepository.delete(rent.getPayment());
+            }
+            rentRepository.delete(rent);
+        });
+    }
+
+    private RentDto createRent(Long userId, BookingDto booking) {
+        Long itemId = booking.getItemId();
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, itemId)));
+
+        Date startDate = toDate(booking.getStartDate());
+        Date endDate = toDate(booking.getEndDate());
+        if (rentRepository.existsOverlapping(itemId, startDate, endDate)) {
+            throw new BookingConflictException(String.format(ITEM_NOT_AVAILABLE_MESSAGE,
+                    itemId, booking.getStartDate(), booking.getEndDate()));
+        }
+
+        Rent rent = new Rent();
+        rent.setItem(item);
+        rent.setUser(userRepository.getReferenceById(userId));
+        rent.setStartDate(startDate);
+        rent.setEndDate(endDate);
+        rentRepository.save(rent);
+
+        long days = ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate()) + 1;
+        Payment payment = new Payment();
+        payment.setAmount(item.getPrice().multiply(BigDecimal.valueOf(days)));
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setDate(new Date());
+        payment.setOwner(rent.getUser());
+        payment.setReceiver(item.getUser());
+        payment.setPaymentMethod(booking.getPaymentMethod());
+        payment.setRent(rent);
+        paymentRepository.save(payment);
+        rent.setPayment(payment);
+
+        return rentMapper.mapToRentDto(rent);
+    }
+
+    private ReentrantLock lockFor(Long itemId) {
+        long hash = itemId * 0x9E3779B97F4A7C15L;
+        return itemLocks[(int) (hash ^ (hash >>> 32)) & (itemLocks.length - 1)];
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentBookingException("Booking interrupted.", e);
+        }
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -1,48 +1,139 @@
 package com.devminds.rentify.service;
 
+import com.devminds.rentify.config.HistoryMapper;
 import com.devminds.rentify.dto.HistoryDto;
-import com.devminds.rentify.entity.History;
+import com.devminds.rentify.dto.UniqueViewersDto;
+import com.devminds.rentify.dto.ViewCountDto;
+import com.devminds.rentify.dto.ViewSeriesPointDto;
+import com.devminds.rentify.exception.InvalidDateRangeException;
 import com.devminds.rentify.repository.HistoryRepository;
-import org.modelmapper.ModelMapper;
+import com.devminds.rentify.service.view.UniqueViewerStore;
+import com.devminds.rentify.service.view.ViewEvent;
+import com.devminds.rentify.service.view.ViewEventListener;
+import com.devminds.rentify.service.view.ViewGranularity;
+import com.devminds.rentify.service.view.ViewRollupStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public class HistoryService {
+    private static final String INVALID_DATE_RANGE_MESSAGE = "Date range %s - %s is invalid.";
+    private static final int DEFAULT_SERIES_DAYS = 30;
     private final HistoryRepository historyRepository;
-    private final ModelMapper modelMapper;
+    private final HistoryMapper historyMapper;
+    private final List<ViewEventListener> viewEventListeners;
+    private final ViewRollupStore viewRollupStore;
+    private final UniqueViewerStore uniqueViewerStore;
+
+    @Value("${application.views.max-series-days}")
+    private int maxSeriesDays;
 
     @Autowired
-    public HistoryService(HistoryRepository historyRepository, ModelMapper modelMapper) {
+    public HistoryService(HistoryRepository historyRepository, HistoryMapper historyMapper,
+                          List<ViewEventListener> viewEventListeners, ViewRollupStore viewRollupStore,
+                          UniqueViewerStore uniqueViewerStore) {
         this.historyRepository = historyRepository;
-        this.modelMapper = modelMapper;
+        this.historyMapper = historyMapper;
+        this.viewEventListeners = viewEventListeners;
+        this.viewRollupStore = viewRollupStore;
+        this.uniqueViewerStore = uniqueViewerStore;
+    }
+
+    /**
+     * Hands a view of the item to every {@link ViewEventListener}, which persist it
+     * asynchronously or update in-memory counters; {@code categoryId} and {@code userId} may be
+     * {@code null}. Never blocks on the database.
+     */
+    public void recordView(Long itemId, Long categoryId, Long userId) {
+        ViewEvent event = new ViewEvent(itemId, categoryId, userId, Instant.now());
+        for (ViewEventListener listener : viewEventListeners) {
+            listener.onView(event);
+        }
     }
 
     public List<HistoryDto> getAllViews() {
         return historyRepository.findAll()
-                .stream().map(this::mapHistoryToHistoryDto)
+                .stream().map(historyMapper::mapToHistoryDto)
                 .toList();
     }
 
     public List<HistoryDto> getAllViewsByUserId(Long id) {
         return historyRepository.findByUserId(id)
-                .stream().map(this::mapHistoryToHistoryDto)
+                .stream().map(historyMapper::mapToHistoryDto)
                 .toList();
     }
 
     public List<HistoryDto> getAllViewsByItemId(Long id) {
         return historyRepository.findByItemId(id)
-                .stream().map(this::mapHistoryToHistoryDto)
+                .stream().map(historyMapper::mapToHistoryDto)
                 .toList();
     }
 
-    private HistoryDto mapHistoryToHistoryDto(History history) {
-        return modelMapper.map(history, HistoryDto.class);
+    /**
+     * Views come from the rollups; unique users are estimated from the item's unique viewer
+     * sketch, since exact distinct counts would need the whole history.
+     */
+    public ViewCountDto getItemViewCount(Long id) {
+        ViewCountDto count = viewRollupStore.getItemCount(id);
+        count.setUniqueUsers(uniqueViewerStore.getItemUniqueViewers(id, null, null));
+        return count;
+    }
+
+    /**
+     * Views come from the rollups; unique users are not additive across items, so they are
+     * estimated by merging the owner's unique viewer sketches instead.
+     */
+    public ViewCountDto getOwnerViewCount(Long id) {
+        ViewCountDto count = viewRollupStore.getOwnerCount(id);
+        count.setUniqueUsers(uniqueViewerStore.getOwnerUniqueViewers(id, null, null));
+        return count;
+    }
+
+    public UniqueViewersDto getItemUniqueViewers(Long id, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return new UniqueViewersDto(id, null, null, uniqueViewerStore.getItemUniqueViewers(id, null, null));
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = resolveSeriesStart(from, end);
+        return new UniqueViewersDto(id, start, end, uniqueViewerStore.getItemUniqueViewers(id, start, end));
+    }
+
+    public UniqueViewersDto getOwnerUniqueViewers(Long id, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return new UniqueViewersDto(id, null, null, uniqueViewerStore.getOwnerUniqueViewers(id, null, null));
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = resolveSeriesStart(from, end);
+        return new UniqueViewersDto(id, start, end, uniqueViewerStore.getOwnerUniqueViewers(id, start, end));
+    }
+
+    public List<ViewSeriesPointDto> getItemViewSeries(Long id, ViewGranularity granularity,
+                                                      LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = resolveSeriesStart(from, end);
+        return viewRollupStore.getItemSeries(id, granularity, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+    }
+
+    public List<ViewSeriesPointDto> getOwnerViewSeries(Long id, ViewGranularity granularity,
+                                                       LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = resolveSeriesStart(from, end);
+        return viewRollupStore.getOwnerSeries(id, granularity, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
     }
 
-    private History mapHistoryDtoToHistory(HistoryDto historyDto) {
-        return modelMapper.map(historyDto, History.class);
+    private LocalDate resolveSeriesStart(LocalDate from, LocalDate end) {
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_SERIES_DAYS - 1L);
+        if (end.isBefore(start) || end.isAfter(start.plusDays(maxSeriesDays - 1L))) {
+            throw new InvalidDateRangeException(String.format(INVALID_DATE_RANGE_MESSAGE, start, end));
+        }
+
+        return start;
     }
 }
@@ -0,0 +1,40 @@
+package com.devminds.rentify.service;
+
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque continuation token for the item catalog, pointing at the last
+ * {@code (posted_date, id)} pair returned to the client.
+ */
+record ItemCursor(Date postedDate, Long id) {
+    private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor %s.";
+    private static final String SEPARATOR = ":";
+
+    static ItemCursor of(Item item) {
+        return new ItemCursor(item.getPostedDate(), item.getId());
+    }
+
+    static ItemCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor));
+            }
+
+            return new ItemCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor), e);
+        }
+    }
+
+    String encode() {
+        String raw = postedDate.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,52 +1,310 @@
 package com.devminds.rentify.service;
 
+import com.devminds.rentify.auth.CurrentUser;
+import com.devminds.rentify.config.ItemMapper;
+import com.devminds.rentify.dto.FacetsDto;
+import com.devminds.rentify.dto.ItemCalendarDto;
 import com.devminds.rentify.dto.ItemDto;
+import com.devminds.rentify.dto.ItemPageDto;
+import com.devminds.rentify.dto.NearbyItemDto;
+import com.devminds.rentify.dto.SimilarItemDto;
+import com.devminds.rentify.dto.TrendingItemDto;
 import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.exception.InvalidDateRangeException;
 import com.devminds.rentify.exception.ItemNotFoundException;
 import com.devminds.rentify.repository.ItemRepository;
-import org.modelmapper.ModelMapper;
+import com.devminds.rentify.service.availability.ItemAvailabilityIndex;
+import com.devminds.rentify.service.facet.FacetFilter;
+import com.devminds.rentify.service.facet.ItemFacetIndex;
+import com.devminds.rentify.service.geo.GeoPoint;
+import com.devminds.rentify.service.geo.ItemGeoIndex;
+import com.devminds.rentify.service.like.LikedItemsCache;
+import com.devminds.rentify.service.recommend.ItemSimilarityIndex;
+import com.devminds.rentify.service.search.ItemSearchIndex;
+import com.devminds.rentify.service.trending.TrendingItem;
+import com.devminds.rentify.service.trending.TrendingItemTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemService {
     private static final String ITEM_NOT_FOUND_MESSAGE = "Item with %d id not found.";
+    private static final String INVALID_DATE_RANGE_MESSAGE = "Date range %s - %s is invalid.";
     private final ItemRepository itemRepository;
-    private final ModelMapper modelMapper;
+    private final ItemMapper itemMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemGeoIndex itemGeoIndex;
+    private final ItemFacetIndex itemFacetIndex;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final TrendingItemTracker trendingItemTracker;
+    private final LikedItemsCache likedItemsCache;
+    private final ItemSimilarityIndex itemSimilarityIndex;
+
+    @Value("${application.items.page-size}")
+    private int defaultPageSize;
+
+    @Value("${application.items.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${application.items.max-filter-scans}")
+    private int maxFilterScans;
+
+    @Value("${application.availability.default-calendar-days}")
+    private int defaultCalendarDays;
+
+    @Value("${application.availability.max-calendar-days}")
+    private int maxCalendarDays;
+
+    @Value("${application.search.max-results}")
+    private int maxSearchResults;
+
+    @Value("${application.trending.default-results}")
+    private int defaultTrendingResults;
+
+    @Value("${application.recommendations.default-results}")
+    private int defaultSimilarResults;
+
+    @Value("${application.recommendations.top-n}")
+    private int maxSimilarResults;
+
+    @Value("${application.geo.default-radius-km}")
+    private double defaultRadiusKm;
+
+    @Value("${application.geo.max-radius-km}")
+    private double maxRadiusKm;
+
+    @Value("${application.geo.max-results}")
+    private int maxNearbyResults;
 
     @Autowired
-    public ItemService(ItemRepository itemRepository, ModelMapper modelMapper) {
+    public ItemService(ItemRepository itemRepository, ItemMapper itemMapper,
+                       ItemSearchIndex itemSearchIndex, ItemGeoIndex itemGeoIndex,
+                       ItemFacetIndex itemFacetIndex, ItemAvailabilityIndex itemAvailabilityIndex,
+                       TrendingItemTracker trendingItemTracker, LikedItemsCache likedItemsCache,
+                       ItemSimilarityIndex itemSimilarityIndex) {
         this.itemRepository = itemRepository;
-        this.modelMapper = modelMapper;
+        this.itemMapper = itemMapper;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemGeoIndex = itemGeoIndex;
+        this.itemFacetIndex = itemFacetIndex;
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
+        this.trendingItemTracker = trendingItemTracker;
+        this.likedItemsCache = likedItemsCache;
+        this.itemSimilarityIndex = itemSimilarityIndex;
     }
 
-    public List<ItemDto> getAllItems() {
-        return itemRepository.findAll()
-                .stream()
-                .map(this::mapItemToItemDto)
-                .toList();
+    public ItemPageDto getAllItems(String cursor, Integer size, LocalDate availableFrom, LocalDate availableTo) {
+        ItemPageDto page = getPage(cursor, size, availabilityFilter(availableFrom, availableTo),
+                (after, limit) -> after == null
+                        ? itemRepository.findFirstPage(limit)
+                        : itemRepository.findPageAfter(after.postedDate(), after.id(), limit));
+        if (cursor == null) {
+            page.setFacets(getFacets(FacetFilter.NONE));
+        }
+
+        return page;
     }
 
     public ItemDto getItemById(Long id) {
-        return itemRepository.findById(id)
-                .map(this::mapItemToItemDto)
+        return itemRepository.findWithDetailsById(id)
+                .map(item -> mapToItemDtos(List.of(item)).get(0))
                 .orElseThrow(() -> new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, id)));
     }
 
-    public List<ItemDto> getItemsByCategoryId(Long id) {
-        return itemRepository.findByCategoryId(id)
+    public ItemPageDto getItemsByCategoryId(Long id, String cursor, Integer size,
+                                            LocalDate availableFrom, LocalDate availableTo) {
+        ItemPageDto page = getPage(cursor, size, availabilityFilter(availableFrom, availableTo),
+                (after, limit) -> after == null
+                        ? itemRepository.findFirstPageByCategoryId(id, limit)
+                        : itemRepository.findPageByCategoryIdAfter(id, after.postedDate(), after.id(), limit));
+        if (cursor == null) {
+            page.setFacets(getFacets(FacetFilter.byCategory(id)));
+        }
+
+        return page;
+    }
+
+    public ItemCalendarDto getItemCalendar(Long id, LocalDate from, LocalDate to) {
+        if (!itemRepository.existsById(id)) {
+            throw new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, id));
+        }
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(defaultCalendarDays - 1L);
+        if (end.isBefore(start) || end.isAfter(start.plusDays(maxCalendarDays - 1L))) {
+            throw new InvalidDateRangeException(String.format(INVALID_DATE_RANGE_MESSAGE, start, end));
+        }
+
+        return new ItemCalendarDto(id, start, end, itemAvailabilityIndex.getBookedDays(id, start, end));
+    }
+
+    public FacetsDto getFacets(FacetFilter filter) {
+        return itemFacetIndex.count(filter);
+    }
+
+    public List<ItemDto> searchItems(String query, Integer limit) {
+        int resultLimit = limit == null || limit <= 0 ? maxSearchResults : Math.min(limit, maxSearchResults);
+        return getItemsInOrder(itemSearchIndex.search(query, resultLimit));
+    }
+
+    public List<NearbyItemDto> getNearbyItems(double latitude, double longitude, Double radiusKm,
+                                              Long categoryId, Double minPrice, Double maxPrice, Integer limit) {
+        double radius = radiusKm == null || radiusKm <= 0 ? defaultRadiusKm : Math.min(radiusKm, maxRadiusKm);
+        int resultLimit = limit == null || limit <= 0 ? maxNearbyResults : Math.min(limit, maxNearbyResults);
+        List<ItemGeoIndex.NearbyItem> nearbyItems = itemGeoIndex.findNearby(
+                new GeoPoint(latitude, longitude), radius, categoryId, minPrice, maxPrice, resultLimit);
+
+        Map<Long, ItemDto> itemsById = getItemsInOrder(nearbyItems.stream().map(ItemGeoIndex.NearbyItem::itemId).toList())
                 .stream()
-                .map(this::mapItemToItemDto)
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+
+        return nearbyItems.stream()
+                .filter(nearbyItem -> itemsById.containsKey(nearbyItem.itemId()))
+                .map(nearbyItem -> new NearbyItemDto(itemsById.get(nearbyItem.itemId()), nearbyItem.distanceKm()))
                 .toList();
     }
 
-    private ItemDto mapItemToItemDto(Item item) {
-        return modelMapper.map(item, ItemDto.class);
+    public List<TrendingItemDto> getTrendingItems(Long categoryId, Integer limit) {
+        int resultLimit = limit == null || limit <= 0 ? defaultTrendingResults : limit;
+        List<TrendingItem> trendingItems = trendingItemTracker.getTrending(categoryId, resultLimit);
+
+        Map<Long, ItemDto> itemsById = getItemsInOrder(trendingItems.stream().map(TrendingItem::itemId).toList())
+                .stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+
+        return trendingItems.stream()
+                .filter(trendingItem -> itemsById.containsKey(trendingItem.itemId()))
+                .map(trendingItem -> new TrendingItemDto(itemsById.get(trendingItem.itemId()), trendingItem.views()))
+                .toList();
+    }
+
+    public List<SimilarItemDto> getSimilarItems(Long id, Integer limit) {
+        if (!itemRepository.existsById(id)) {
+            throw new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, id));
+        }
+
+        int resultLimit = limit == null || limit <= 0 ? defaultSimilarResults : Math.min(limit, maxSimilarResults);
+        List<ItemSimilarityIndex.SimilarItem> similarItems = itemSimilarityIndex.getSimilar(id, resultLimit);
+
+        List<Long> ids = similarItems.stream().map(ItemSimilarityIndex.SimilarItem::itemId).toList();
+        Map<Long, ItemDto> itemsById = getItemsInOrder(ids)
+                .stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+
+        return similarItems.stream()
+                .filter(similarItem -> itemsById.containsKey(similarItem.itemId()))
+                .map(similarItem -> new SimilarItemDto(itemsById.get(similarItem.itemId()), similarItem.score()))
+                .toList();
+    }
+
+    /**
+     * Loads the given items in one query and returns them in the order of {@code ids},
+     * skipping ids that no longer exist.
+     */
+    private List<ItemDto> getItemsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> itemsById = itemRepository.findWithDetailsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return mapToItemDtos(ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Maps items to DTOs and flags the ones the signed-in user likes, fetching the user's
+     * liked-item bitmap once for the whole list.
+     */
+    private List<ItemDto> mapToItemDtos(List<Item> items) {
+        LikedItemsCache.LikedItems likedItems = items.isEmpty()
+                ? LikedItemsCache.LikedItems.NONE
+                : CurrentUser.id().map(likedItemsCache::getLikedItems).orElse(LikedItemsCache.LikedItems.NONE);
+
+        return items.stream()
+                .map(item -> {
+                    ItemDto itemDto = itemMapper.mapToItemDto(item);
+                    itemDto.setLikedByMe(likedItems.contains(item.getId()));
+                    return itemDto;
+                })
+                .toList();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * Walks the keyset pages until {@code pageSize} items pass the filter. Batches are fetched
+     * with one extra row, so a full batch tells that more rows exist without a COUNT query.
+     * A sparse filter stops after {@code maxFilterScans} batches and hands back a cursor to the
+     * last scanned row, so one request never walks the whole table. Facets are only added to
+     * the first page by the callers since they do not change while the client scrolls.
+     */
+    private ItemPageDto getPage(String cursor, Integer size, Predicate<Item> filter,
+                                BiFunction<ItemCursor, Limit, List<Item>> pageFetcher) {
+        int pageSize = resolvePageSize(size);
+        int batchSize = pageSize + 1;
+        ItemCursor after = cursor == null ? null : ItemCursor.decode(cursor);
+        List<Item> page = new ArrayList<>(pageSize);
+
+        for (int scans = 1; ; scans++) {
+            List<Item> batch = pageFetcher.apply(after, Limit.of(batchSize));
+            for (Item item : batch) {
+                if (filter.test(item)) {
+                    if (page.size() == pageSize) {
+                        return mapItemsToItemPageDto(page, after);
+                    }
+                    page.add(item);
+                }
+                after = ItemCursor.of(item);
+            }
+
+            if (batch.size() < batchSize) {
+                return mapItemsToItemPageDto(page, null);
+            }
+            if (scans == maxFilterScans) {
+                return mapItemsToItemPageDto(page, after);
+            }
+        }
+    }
+
+    private Predicate<Item> availabilityFilter(LocalDate availableFrom, LocalDate availableTo) {
+        if (availableFrom == null && availableTo == null) {
+            return item -> true;
+        }
+
+        LocalDate from = availableFrom != null ? availableFrom : availableTo;
+        LocalDate to = availableTo != null ? availableTo : availableFrom;
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException(String.format(INVALID_DATE_RANGE_MESSAGE, from, to));
+        }
+
+        return item -> itemAvailabilityIndex.isAvailable(item.getId(), from, to);
     }
 
-    private Item mapItemDtoToItem(ItemDto itemDto) {
-        return modelMapper.map(itemDto, Item.class);
+    private ItemPageDto mapItemsToItemPageDto(List<Item> page, ItemCursor next) {
+        return new ItemPageDto(mapToItemDtos(page),
+                next != null ? next.encode() : null, null);
     }
 }
@@ -1,47 +1,92 @@
 package com.devminds.rentify.service;
 
+import com.devminds.rentify.config.LikedItemMapper;
 import com.devminds.rentify.dto.LikedItemDto;
 import com.devminds.rentify.entity.LikedItem;
+import com.devminds.rentify.exception.ItemNotFoundException;
+import com.devminds.rentify.repository.ItemRepository;
 import com.devminds.rentify.repository.LikedItemRepository;
-import org.modelmapper.ModelMapper;
+import com.devminds.rentify.repository.UserRepository;
+import com.devminds.rentify.service.like.LikeCounter;
+import com.devminds.rentify.service.like.LikedItemsCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
 public class LikedItemService {
+    private static final String ITEM_NOT_FOUND_MESSAGE = "Item with %d id not found.";
     private final LikedItemRepository likedItemRepository;
-    private final ModelMapper modelMapper;
+    private final LikedItemMapper likedItemMapper;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final LikeCounter likeCounter;
+    private final LikedItemsCache likedItemsCache;
 
     @Autowired
-    public LikedItemService(LikedItemRepository likedItemRepository, ModelMapper modelMapper) {
+    public LikedItemService(LikedItemRepository likedItemRepository, LikedItemMapper likedItemMapper,
+                            ItemRepository itemRepository, UserRepository userRepository,
+                            LikeCounter likeCounter, LikedItemsCache likedItemsCache) {
         this.likedItemRepository = likedItemRepository;
-        this.modelMapper = modelMapper;
+        this.likedItemMapper = likedItemMapper;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.likeCounter = likeCounter;
+        this.likedItemsCache = likedItemsCache;
     }
 
     public List<LikedItemDto> getAllLikes() {
         return likedItemRepository.findAll()
                 .stream()
-                .map(this::mapLikedItemToLikedItemDto)
+                .map(likedItemMapper::mapToLikedItemDto)
                 .toList();
     }
 
     public List<LikedItemDto> getAllLikesByUserId(Long id) {
         return likedItemRepository.getAllLikesByUserId(id)
                 .stream()
-                .map(this::mapLikedItemToLikedItemDto)
+                .map(likedItemMapper::mapToLikedItemDto)
                 .toList();
     }
 
     public List<LikedItemDto> getAllLikesByItemId(Long id) {
         return likedItemRepository.getAllLikesByItemId(id)
                 .stream()
-                .map(this::mapLikedItemToLikedItemDto)
+                .map(likedItemMapper::mapToLikedItemDto)
                 .toList();
     }
 
-    private LikedItemDto mapLikedItemToLikedItemDto(LikedItem likedItem) {
-        return modelMapper.map(likedItem, LikedItemDto.class);
+    /**
+     * Likes the item for the user. Liking twice is a no-op; the unique key on
+     * {@code liked_item} settles concurrent requests so the count is only bumped once.
+     */
+    public void likeItem(Long userId, Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException(String.format(ITEM_NOT_FOUND_MESSAGE, itemId));
+        }
+        if (likedItemRepository.existsByItemIdAndUserId(itemId, userId)) {
+            return;
+        }
+
+        LikedItem likedItem = new LikedItem();
+        likedItem.setItem(itemRepository.getReferenceById(itemId));
+        likedItem.setUser(userRepository.getReferenceById(userId));
+        try {
+            likedItemRepository.save(likedItem);
+        } catch (DataIntegrityViolationException e) {
+            return;
+        }
+
+        likeCounter.increment(itemId);
+        likedItemsCache.onLike(userId, itemId);
+    }
+
+    public void unlikeItem(Long userId, Long itemId) {
+        if (likedItemRepository.deleteByItemIdAndUserId(itemId, userId) > 0) {
+            likeCounter.decrement(itemId);
+            likedItemsCache.onUnlike(userId, itemId);
+        }
     }
 }
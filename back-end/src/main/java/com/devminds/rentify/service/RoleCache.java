@@ -0,0 +1,30 @@
+package com.devminds.rentify.service;
+
+import com.devminds.rentify.entity.Role;
+import com.devminds.rentify.enums.UserRole;
+import com.devminds.rentify.repository.RoleRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Roles are reference data seeded by migrations and never change at runtime, so each one is
+ * read once and reused for every registration.
+ */
+@Component
+public class RoleCache {
+    private static final String ROLE_NOT_FOUND_MESSAGE = "Role %s is not defined.";
+
+    private final RoleRepository roleRepository;
+    private final Map<UserRole, Role> roles = new ConcurrentHashMap<>();
+
+    public RoleCache(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    public Role get(UserRole userRole) {
+        return roles.computeIfAbsent(userRole, role -> roleRepository.findByRole(role)
+                .orElseThrow(() -> new IllegalStateException(String.format(ROLE_NOT_FOUND_MESSAGE, role))));
+    }
+}
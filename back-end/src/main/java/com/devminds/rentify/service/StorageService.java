@@ -1,74 +1,143 @@
 package com.devminds.rentify.service;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
-import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
-import com.amazonaws.util.IOUtils;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import com.devminds.rentify.event.ImageUploadedEvent;
+import com.devminds.rentify.exception.StoredFileNotFoundException;
+import com.devminds.rentify.service.variant.ImageVariant;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class StorageService {
     private static final String FOLDER_NAME = "Hidden_Resources/";
+    private static final String FILE_NOT_FOUND_MESSAGE = "File %s not found.";
 
     @Value("${application.bucket.name}")
     private String bucketName;
 
     private final AmazonS3 s3Client;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferManager transferManager;
+    private final long multipartThreshold;
 
     @Autowired
-    public StorageService(AmazonS3 s3Client) {
+    public StorageService(AmazonS3 s3Client, ApplicationEventPublisher eventPublisher,
+                          @Value("${application.storage.multipart-threshold}") DataSize multipartThreshold,
+                          @Value("${application.storage.multipart-part-size}") DataSize multipartPartSize) {
         this.s3Client = s3Client;
+        this.eventPublisher = eventPublisher;
+        this.multipartThreshold = multipartThreshold.toBytes();
+        this.transferManager = TransferManagerBuilder.standard()
+                .withS3Client(s3Client)
+                .withMultipartUploadThreshold(multipartThreshold.toBytes())
+                .withMinimumUploadPartSize(multipartPartSize.toBytes())
+                .build();
     }
 
+    /**
+     * Streams the upload from the request straight into S3 under a fresh random key. The
+     * content length is sent up front so the SDK does not buffer the body to compute it, and
+     * bodies of at least {@code multipart-threshold} go through a multipart upload. Resized
+     * renditions are produced afterwards from an {@link ImageUploadedEvent}.
+     */
     public URL uploadFile(MultipartFile file) throws IOException {
-        File fileObj = convertMultiPartFileToFile(file);
-        String fileName = FOLDER_NAME + System.currentTimeMillis();
-        s3Client.putObject(new PutObjectRequest(bucketName, fileName, fileObj));
-        fileObj.delete();
+        String fileName = FOLDER_NAME + UUID.randomUUID();
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(file.getSize());
+        metadata.setContentType(file.getContentType());
+
+        try (InputStream inputStream = file.getInputStream()) {
+            if (file.getSize() >= multipartThreshold) {
+                transferManager.upload(bucketName, fileName, inputStream, metadata).waitForCompletion();
+            } else {
+                s3Client.putObject(bucketName, fileName, inputStream, metadata);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upload was interrupted.", e);
+        } catch (AmazonClientException e) {
+            throw new IOException("Cannot upload the file.", e);
+        }
 
         GeneratePresignedUrlRequest generatePresignedUrlRequest =
                 new GeneratePresignedUrlRequest(bucketName, fileName)
                         .withMethod(HttpMethod.GET)
                         .withExpiration(new Date(System.currentTimeMillis() + 7 * 24 * 3600000));
 
-        return s3Client.generatePresignedUrl(generatePresignedUrlRequest);
+        URL url = s3Client.generatePresignedUrl(generatePresignedUrlRequest);
+        eventPublisher.publishEvent(new ImageUploadedEvent(fileName, file.getContentType()));
+        return url;
     }
 
-    public List<URL> uploadFiles(List<MultipartFile> files) throws IOException {
-        List<URL> preSignedUrls = new ArrayList<>();
+    /**
+     * Stores a body of known length under {@code fileName} with a single PUT, for content
+     * produced by the application itself such as image renditions.
+     */
+    public void storeFile(String fileName, InputStream content, long contentLength, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        metadata.setContentType(contentType);
+        s3Client.putObject(bucketName, fileName, content, metadata);
+    }
 
-        for (MultipartFile file : files) {
-            preSignedUrls.add(uploadFile(file));
+    /**
+     * Opens the object for streaming, limited to {@code rangeStart}-{@code rangeEnd} when a
+     * start is given ({@code rangeEnd} may be {@code null} for the rest of the object). S3
+     * evaluates {@code nonMatchingETags}, and {@code null} is returned when one of them still
+     * matches. The caller must close the returned object.
+     */
+    public S3Object downloadFile(String fileName, Long rangeStart, Long rangeEnd, List<String> nonMatchingETags) {
+        GetObjectRequest request = new GetObjectRequest(bucketName, fileName);
+        if (rangeStart != null) {
+            if (rangeEnd != null) {
+                request.setRange(rangeStart, rangeEnd);
+            } else {
+                request.setRange(rangeStart);
+            }
+        }
+        if (nonMatchingETags != null && !nonMatchingETags.isEmpty()) {
+            request.setNonmatchingETagConstraints(nonMatchingETags);
         }
 
-        return preSignedUrls;
+        try {
+            return s3Client.getObject(request);
+        } catch (AmazonS3Exception e) {
+            throw translateNotFound(fileName, e);
+        }
     }
 
-    public byte[] downloadFile(String fileName) throws IOException {
-        S3Object s3Object = s3Client.getObject(bucketName, fileName);
-        S3ObjectInputStream inputStream = s3Object.getObjectContent();
+    public ObjectMetadata getFileMetadata(String fileName) {
         try {
-            byte[] content = IOUtils.toByteArray(inputStream);
-            return content;
-        } catch (IOException e) {
-            throw new IOException("Cannot download the file.", e);
+            return s3Client.getObjectMetadata(bucketName, fileName);
+        } catch (AmazonS3Exception e) {
+            throw translateNotFound(fileName, e);
         }
     }
 
@@ -93,17 +162,25 @@ public class StorageService {
     }
 
     public String deleteFile(String fileName) {
-        s3Client.deleteObject(bucketName, FOLDER_NAME + fileName);
+        String key = FOLDER_NAME + fileName;
+        List<DeleteObjectsRequest.KeyVersion> keys = new ArrayList<>();
+        keys.add(new DeleteObjectsRequest.KeyVersion(key));
+        for (ImageVariant variant : ImageVariant.values()) {
+            keys.add(new DeleteObjectsRequest.KeyVersion(variant.keyFor(key)));
+        }
+        s3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keys).withQuiet(true));
         return fileName + " removed.";
     }
 
-    private File convertMultiPartFileToFile(MultipartFile file) throws IOException {
-        File convertedFile = new File(file.getOriginalFilename());
-        try (FileOutputStream fos = new FileOutputStream(convertedFile)) {
-            fos.write(file.getBytes());
-        } catch (IOException e) {
-            throw new IOException("Error converting multipartFile to file", e);
+    private RuntimeException translateNotFound(String fileName, AmazonS3Exception e) {
+        if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+            return new StoredFileNotFoundException(String.format(FILE_NOT_FOUND_MESSAGE, fileName), e);
         }
-        return convertedFile;
+        return e;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transferManager.shutdownNow(false);
     }
 }
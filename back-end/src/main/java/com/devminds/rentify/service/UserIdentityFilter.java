@@ -0,0 +1,116 @@
+package com.devminds.rentify.service;
+
+import com.devminds.rentify.event.UserChangedEvent;
+import com.devminds.rentify.repository.UserIdentityProjection;
+import com.devminds.rentify.repository.UserRepository;
+import com.devminds.rentify.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bloom filters over registered emails and phone numbers. A negative answer means the value
+ * is certainly free as far as this instance has seen, so registration can skip the lookup;
+ * a positive answer still has to be confirmed against the table. Users registered on other
+ * instances are only picked up by the next rebuild, which is safe because the unique keys
+ * of the user table remain the final check.
+ */
+@Component
+public class UserIdentityFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserIdentityFilter.class);
+
+    private final UserRepository userRepository;
+    private volatile BloomFilter emails;
+    private volatile BloomFilter phoneNumbers;
+
+    @Value("${application.users.duplicate-check.expected-users}")
+    private long expectedUsers;
+
+    @Value("${application.users.duplicate-check.false-positive-rate}")
+    private double falsePositiveRate;
+
+    @Value("${application.users.duplicate-check.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    public UserIdentityFilter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean mightContainEmail(String email) {
+        BloomFilter current = emails;
+        return current == null || current.mightContain(normalizeEmail(email));
+    }
+
+    public boolean mightContainPhoneNumber(String phoneNumber) {
+        BloomFilter current = phoneNumbers;
+        return current == null || current.mightContain(normalizePhoneNumber(phoneNumber));
+    }
+
+    public void put(String email, String phoneNumber) {
+        BloomFilter currentEmails = emails;
+        BloomFilter currentPhoneNumbers = phoneNumbers;
+        if (currentEmails != null && email != null) {
+            currentEmails.put(normalizeEmail(email));
+        }
+        if (currentPhoneNumbers != null && phoneNumber != null) {
+            currentPhoneNumbers.put(normalizePhoneNumber(phoneNumber));
+        }
+    }
+
+    /**
+     * Loads every user in id order into fresh filters. Until the first rebuild completes
+     * every lookup reports a possible match, so no duplicate slips past the pre-check.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        BloomFilter newEmails = BloomFilter.create(expectedUsers, falsePositiveRate);
+        BloomFilter newPhoneNumbers = BloomFilter.create(expectedUsers, falsePositiveRate);
+        long cursor = 0;
+        int loaded = 0;
+        List<UserIdentityProjection> batch;
+        do {
+            batch = userRepository.findIdentitiesAfter(cursor, Limit.of(rebuildBatchSize));
+            for (UserIdentityProjection identity : batch) {
+                newEmails.put(normalizeEmail(identity.getEmail()));
+                newPhoneNumbers.put(normalizePhoneNumber(identity.getPhoneNumber()));
+                cursor = identity.getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == rebuildBatchSize);
+
+        emails = newEmails;
+        phoneNumbers = newPhoneNumbers;
+        LOGGER.info("User duplicate check filter rebuilt with {} users", loaded);
+    }
+
+    /**
+     * Keeps the filters in step with users saved through JPA. Removed users are left in,
+     * which only costs a confirming lookup if their email or phone number is reused.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!event.removed()) {
+            put(event.user().getEmail(), event.user().getPhoneNumber());
+        }
+    }
+
+    /**
+     * Emails compare case-insensitively under the column collation, so they are keyed in
+     * lower case to keep equal values on the same bits.
+     */
+    static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizePhoneNumber(String phoneNumber) {
+        return phoneNumber.trim();
+    }
+}
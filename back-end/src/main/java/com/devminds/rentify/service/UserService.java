@@ -6,5 +6,6 @@ import java.util.Optional;
 
 public interface UserService {
     User saveUser(User user);
+    void checkNotRegistered(String email, String phoneNumber);
     Optional<User> findByEmail(String email);
 }
@@ -1,37 +1,114 @@
 package com.devminds.rentify.service;
 
+import com.devminds.rentify.config.BoundedPasswordEncoder;
+import com.devminds.rentify.config.UserMapper;
 import com.devminds.rentify.dto.UserDto;
+import com.devminds.rentify.dto.UserImportResultDto;
+import com.devminds.rentify.dto.UserRegisterDto;
 import com.devminds.rentify.entity.User;
+import com.devminds.rentify.enums.UserRole;
 import com.devminds.rentify.exception.DuplicateEntityException;
 import com.devminds.rentify.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class UserServiceImpl implements UserService {
     private static final String USER_NOT_FOUND_MESSAGE = "User with %d id not found.";
+    private static final String DUPLICATE_IMPORT_MESSAGE = "Some of the imported users were registered meanwhile.";
+    private static final String EMAIL_UNIQUE_KEY = "uk_user_email";
+    private static final String PHONE_UNIQUE_KEY = "uk_user_phone";
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO user (first_name, last_name, password, email, phone, role_id) VALUES (?, ?, ?, ?, ?, ?)";
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
-
-    public UserServiceImpl(UserRepository userRepository, ModelMapper mapper) {
+    private final UserMapper userMapper;
+    private final UserIdentityFilter userIdentityFilter;
+    private final RoleCache roleCache;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor importHashingExecutor;
+
+    @Value("${application.users.import.lookup-chunk-size}")
+    private int lookupChunkSize;
+
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, UserIdentityFilter userIdentityFilter,
+                           RoleCache roleCache, BoundedPasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${application.users.import.hashing-threads}") int hashingThreads,
+                           @Value("${application.users.import.hashing-queue-capacity}") int hashingQueueCapacity) {
         this.userRepository = userRepository;
-        this.modelMapper = mapper;
+        this.userMapper = userMapper;
+        this.userIdentityFilter = userIdentityFilter;
+        this.roleCache = roleCache;
+        this.passwordEncoder = passwordEncoder.unbounded();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // Once the queue is full the importing request hashes on its own thread, which holds
+        // any number of concurrent imports to the pool size plus one thread each.
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.importHashingExecutor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importHashingExecutor.shutdownNow();
     }
 
+    /**
+     * Inserts the user in a single statement and leaves duplicate detection to the unique
+     * keys of the user table, translating their violation into {@link DuplicateEntityException}.
+     */
     @Override
     public User saveUser(User user) {
+        try {
+            return this.userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toDuplicateEntityException(e, user);
+        }
+    }
 
-        checkIfIsDuplicateByEmail(user);
-
-        checkIfIsDuplicateByPhoneNumber(user);
-
-
-        return this.userRepository.save(user);
+    /**
+     * Rejects an email or phone number that is already registered before any expensive work,
+     * such as password hashing, is done. Values the filter has never seen skip the database;
+     * possible matches are confirmed so a false positive never blocks a registration.
+     */
+    @Override
+    public void checkNotRegistered(String email, String phoneNumber) {
+        if (userIdentityFilter.mightContainEmail(email) && userRepository.existsByEmail(email)) {
+            throw new DuplicateEntityException("User", "Email", email);
+        }
+
+        if (userIdentityFilter.mightContainPhoneNumber(phoneNumber)
+                && userRepository.existsByPhoneNumber(phoneNumber)) {
+            throw new DuplicateEntityException("User", "phoneNumber", phoneNumber);
+        }
     }
 
     @Override
@@ -40,37 +117,122 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(email);
     }
 
-    private void checkIfIsDuplicateByPhoneNumber(User user) {
-        userRepository.findByPhone(user.getPhoneNumber())
-                .ifPresent(existingUser -> {
-                    throw new DuplicateEntityException("User", "phoneNumber", user.getPhoneNumber());
-                });
-    }
-
-
-    private void checkIfIsDuplicateByEmail(User user) {
-        userRepository.findByEmail(user.getEmail())
-                .ifPresent(existingUser -> {
-                    throw new DuplicateEntityException("User", "Email", user.getEmail());
-                });
-
+    /**
+     * Imports users with the default role in one batched insert. Entries whose email or phone
+     * number repeats an earlier entry or an existing user are skipped and reported. Passwords
+     * are hashed in parallel on a pool of their own, apart from the one that serves logins.
+     */
+    public UserImportResultDto importUsers(List<UserRegisterDto> users) {
+        Map<String, UserRegisterDto> byEmail = new LinkedHashMap<>();
+        Set<String> phoneNumbers = new HashSet<>();
+        List<String> duplicateEmails = new ArrayList<>();
+        for (UserRegisterDto user : users) {
+            String email = UserIdentityFilter.normalizeEmail(user.getEmail());
+            String phoneNumber = UserIdentityFilter.normalizePhoneNumber(user.getPhoneNumber());
+            if (byEmail.containsKey(email) || !phoneNumbers.add(phoneNumber)) {
+                duplicateEmails.add(user.getEmail());
+            } else {
+                byEmail.put(email, user);
+            }
+        }
+
+        removeRegistered(byEmail, duplicateEmails);
+
+        int roleId = roleCache.get(UserRole.USER).getId();
+        List<Future<String>> passwords = new ArrayList<>(byEmail.size());
+        for (UserRegisterDto user : byEmail.values()) {
+            passwords.add(importHashingExecutor.submit(() -> passwordEncoder.encode(user.getPassword())));
+        }
+        List<Object[]> rows = new ArrayList<>(byEmail.size());
+        int index = 0;
+        for (UserRegisterDto user : byEmail.values()) {
+            rows.add(new Object[]{user.getFirstName(), user.getLastName(), await(passwords.get(index++)),
+                    user.getEmail().trim(), user.getPhoneNumber().trim(), roleId});
+        }
+
+        if (!rows.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows));
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateEntityException(DUPLICATE_IMPORT_MESSAGE);
+            }
+            byEmail.values().forEach(user -> userIdentityFilter.put(user.getEmail(), user.getPhoneNumber()));
+        }
+
+        return new UserImportResultDto(users.size(), rows.size(), duplicateEmails);
     }
 
     public List<UserDto> getAllUsers() {
         return userRepository.findAll()
                 .stream()
-                .map(this::mapUserToUserDto)
+                .map(userMapper::mapToUserDto)
                 .toList();
     }
 
     public UserDto getUserById(Long id) {
         return userRepository.findById(id)
-                .map(this::mapUserToUserDto)
+                .map(userMapper::mapToUserDto)
                 .orElseThrow(() -> new UsernameNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, id)));
     }
 
-    private UserDto mapUserToUserDto(User user) {
-        return modelMapper.map(user, UserDto.class);
+    /**
+     * Drops the entries that clash with existing users, looking them up in chunks so that
+     * each IN list stays small.
+     */
+    private void removeRegistered(Map<String, UserRegisterDto> byEmail, List<String> duplicateEmails) {
+        List<String> emails = byEmail.values().stream()
+                .map(user -> user.getEmail().trim())
+                .filter(userIdentityFilter::mightContainEmail)
+                .toList();
+        List<String> phoneNumbers = byEmail.values().stream()
+                .map(user -> user.getPhoneNumber().trim())
+                .filter(userIdentityFilter::mightContainPhoneNumber)
+                .toList();
+
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += lookupChunkSize) {
+            List<String> chunk = emails.subList(from, Math.min(from + lookupChunkSize, emails.size()));
+            userRepository.findExistingEmails(chunk)
+                    .forEach(email -> existingEmails.add(UserIdentityFilter.normalizeEmail(email)));
+        }
+        Set<String> existingPhoneNumbers = new HashSet<>();
+        for (int from = 0; from < phoneNumbers.size(); from += lookupChunkSize) {
+            List<String> chunk = phoneNumbers.subList(from, Math.min(from + lookupChunkSize, phoneNumbers.size()));
+            existingPhoneNumbers.addAll(userRepository.findExistingPhoneNumbers(chunk));
+        }
+
+        byEmail.entrySet().removeIf(entry -> {
+            boolean registered = existingEmails.contains(entry.getKey())
+                    || existingPhoneNumbers.contains(entry.getValue().getPhoneNumber().trim());
+            if (registered) {
+                duplicateEmails.add(entry.getValue().getEmail());
+            }
+            return registered;
+        });
+    }
+
+    private static String await(Future<String> password) {
+        try {
+            return password.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
-}
 
+    private RuntimeException toDuplicateEntityException(DataIntegrityViolationException e, User user) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (message.contains(EMAIL_UNIQUE_KEY)) {
+            return new DuplicateEntityException("User", "Email", user.getEmail());
+        }
+        if (message.contains(PHONE_UNIQUE_KEY)) {
+            return new DuplicateEntityException("User", "phoneNumber", user.getPhoneNumber());
+        }
+        return e;
+    }
+}
@@ -0,0 +1,66 @@
+package com.devminds.rentify.service.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Day-granularity availability of every item over a rolling horizon. Items without any
+ * current or future rent have no calendar and are always available.
+ */
+@Component
+public class ItemAvailabilityIndex {
+    private final int horizonDays;
+    private final Map<Long, ItemCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile LocalDate horizonStart = LocalDate.now();
+
+    public ItemAvailabilityIndex(@Value("${application.availability.horizon-days}") int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    public void put(long itemId, int rentId, LocalDate start, LocalDate end) {
+        calendars.compute(itemId, (id, calendar) -> {
+            ItemCalendar target = calendar != null ? calendar : new ItemCalendar(horizonStart, horizonDays);
+            target.put(rentId, start, end);
+            return target;
+        });
+    }
+
+    public void remove(long itemId, int rentId) {
+        calendars.computeIfPresent(itemId, (id, calendar) -> {
+            calendar.remove(rentId);
+            return calendar.isEmpty() ? null : calendar;
+        });
+    }
+
+    public boolean isAvailable(long itemId, LocalDate from, LocalDate to) {
+        ItemCalendar calendar = calendars.get(itemId);
+        return calendar == null || calendar.isAvailable(from, to);
+    }
+
+    public List<LocalDate> getBookedDays(long itemId, LocalDate from, LocalDate to) {
+        ItemCalendar calendar = calendars.get(itemId);
+        return calendar == null ? List.of() : calendar.getBookedDays(from, to);
+    }
+
+    /**
+     * Moves the start of the horizon to {@code today}, dropping rents that already ended.
+     */
+    public void roll(LocalDate today) {
+        horizonStart = today;
+        for (Long itemId : calendars.keySet()) {
+            calendars.computeIfPresent(itemId, (id, calendar) -> {
+                calendar.rebuild(today);
+                return calendar.isEmpty() ? null : calendar;
+            });
+        }
+    }
+
+    public LocalDate getHorizonStart() {
+        return horizonStart;
+    }
+}
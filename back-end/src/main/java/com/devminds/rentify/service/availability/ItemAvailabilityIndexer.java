@@ -0,0 +1,131 @@
+package com.devminds.rentify.service.availability;
+
+import com.devminds.rentify.entity.Rent;
+import com.devminds.rentify.event.RentChangedEvent;
+import com.devminds.rentify.repository.RentPeriodProjection;
+import com.devminds.rentify.repository.RentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads current and future rents into {@link ItemAvailabilityIndex} at startup, applies
+ * {@link RentChangedEvent}s after commit and rolls the horizon forward every night.
+ * <p>
+ * The startup load runs in the background. Until it finishes the index may miss rents, which
+ * only lets more bookings through to the overlap check in the database. A batch read before a
+ * rent changed can land after the change, so the latest change of every rent seen during the
+ * load is applied again at its end.
+ */
+@Component
+public class ItemAvailabilityIndexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemAvailabilityIndexer.class);
+
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final RentRepository rentRepository;
+    private final Object changeLock = new Object();
+    private Map<Integer, RentChangedEvent> changesDuringRebuild;
+
+    @Value("${application.availability.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    public ItemAvailabilityIndexer(ItemAvailabilityIndex itemAvailabilityIndex, RentRepository rentRepository) {
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
+        this.rentRepository = rentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuildThread = new Thread(this::rebuild, "item-availability-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    public void rebuild() {
+        synchronized (changeLock) {
+            changesDuringRebuild = new HashMap<>();
+        }
+
+        try {
+            Date from = toDate(itemAvailabilityIndex.getHorizonStart());
+            int cursor = 0;
+            int indexed = 0;
+            List<RentPeriodProjection> batch;
+            do {
+                batch = rentRepository.findPeriodsEndingAfter(from, cursor, Limit.of(rebuildBatchSize));
+                for (RentPeriodProjection period : batch) {
+                    itemAvailabilityIndex.put(period.getItemId(), period.getId(),
+                            toLocalDate(period.getStartDate()), toLocalDate(period.getEndDate()));
+                    cursor = period.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == rebuildBatchSize);
+
+            LOGGER.info("Item availability index loaded with {} rents", indexed);
+        } catch (DataAccessException e) {
+            LOGGER.error("Item availability index rebuild failed", e);
+        } finally {
+            replayChangesDuringRebuild();
+        }
+    }
+
+    @Scheduled(cron = "${application.availability.roll-cron}")
+    public void roll() {
+        itemAvailabilityIndex.roll(LocalDate.now());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentChanged(RentChangedEvent event) {
+        synchronized (changeLock) {
+            apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(event.rent().getId(), event);
+            }
+        }
+    }
+
+    private void replayChangesDuringRebuild() {
+        synchronized (changeLock) {
+            Map<Integer, RentChangedEvent> changes = changesDuringRebuild;
+            changesDuringRebuild = null;
+            changes.values().forEach(this::apply);
+        }
+    }
+
+    private void apply(RentChangedEvent event) {
+        Rent rent = event.rent();
+        if (rent.getItem() == null) {
+            return;
+        }
+
+        if (event.removed()) {
+            itemAvailabilityIndex.remove(rent.getItem().getId(), rent.getId());
+        } else {
+            itemAvailabilityIndex.put(rent.getItem().getId(), rent.getId(),
+                    toLocalDate(rent.getStartDate()), toLocalDate(rent.getEndDate()));
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
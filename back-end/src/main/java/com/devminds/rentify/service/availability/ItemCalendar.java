@@ -0,0 +1,122 @@
+package com.devminds.rentify.service.availability;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booked days of a single item: one bit per day from {@code horizonStart} over the rolling
+ * horizon, plus the rent periods the bits were built from. Periods are kept so that a
+ * cancellation can be applied without clearing days another rent still covers, and so that
+ * queries reaching past the horizon can still be answered.
+ */
+final class ItemCalendar {
+    private final Map<Integer, RentPeriod> periods = new HashMap<>();
+    private final int horizonDays;
+    private LocalDate horizonStart;
+    private long[] bookedDays;
+
+    ItemCalendar(LocalDate horizonStart, int horizonDays) {
+        this.horizonDays = horizonDays;
+        this.horizonStart = horizonStart;
+        this.bookedDays = new long[(horizonDays + 63) >>> 6];
+    }
+
+    synchronized void put(int rentId, LocalDate start, LocalDate end) {
+        RentPeriod period = new RentPeriod(start, end);
+        RentPeriod previous = periods.put(rentId, period);
+        if (previous != null) {
+            rebuild(horizonStart);
+        } else {
+            mark(period);
+        }
+    }
+
+    synchronized void remove(int rentId) {
+        if (periods.remove(rentId) != null) {
+            rebuild(horizonStart);
+        }
+    }
+
+    synchronized void rebuild(LocalDate newHorizonStart) {
+        periods.values().removeIf(period -> period.end().isBefore(newHorizonStart));
+        horizonStart = newHorizonStart;
+        bookedDays = new long[bookedDays.length];
+        periods.values().forEach(this::mark);
+    }
+
+    synchronized boolean isEmpty() {
+        return periods.isEmpty();
+    }
+
+    synchronized boolean isAvailable(LocalDate from, LocalDate to) {
+        long first = ChronoUnit.DAYS.between(horizonStart, from);
+        long last = ChronoUnit.DAYS.between(horizonStart, to);
+        if (first < 0 || last >= horizonDays()) {
+            return periods.values().stream().noneMatch(period -> period.overlaps(from, to));
+        }
+
+        int firstWord = (int) (first >>> 6);
+        int lastWord = (int) (last >>> 6);
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == firstWord) {
+                mask &= -1L << (first & 63);
+            }
+            if (word == lastWord) {
+                mask &= -1L >>> (63 - (last & 63));
+            }
+            if ((bookedDays[word] & mask) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    synchronized List<LocalDate> getBookedDays(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (isBooked(day)) {
+                days.add(day);
+            }
+        }
+
+        return days;
+    }
+
+    private boolean isBooked(LocalDate day) {
+        long offset = ChronoUnit.DAYS.between(horizonStart, day);
+        if (offset < 0 || offset >= horizonDays()) {
+            return periods.values().stream().anyMatch(period -> period.overlaps(day, day));
+        }
+
+        return (bookedDays[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    private void mark(RentPeriod period) {
+        long first = Math.max(0, ChronoUnit.DAYS.between(horizonStart, period.start()));
+        long last = Math.min(horizonDays() - 1L, ChronoUnit.DAYS.between(horizonStart, period.end()));
+        for (long day = first; day <= last; day++) {
+            bookedDays[(int) (day >>> 6)] |= 1L << day;
+        }
+    }
+
+    /**
+     * Days covered by the bits. The array is rounded up to whole words, but the bits past the
+     * configured horizon stay unused so that every calendar answers from its bits for exactly
+     * the same days.
+     */
+    int horizonDays() {
+        return horizonDays;
+    }
+
+    private record RentPeriod(LocalDate start, LocalDate end) {
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return !end.isBefore(from) && !start.isAfter(to);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.devminds.rentify.service.download;
+
+/**
+ * An inclusive range of bytes within a stored file of a known length.
+ */
+public record ByteRange(long start, long end) {
+
+    public long length() {
+        return end - start + 1;
+    }
+}
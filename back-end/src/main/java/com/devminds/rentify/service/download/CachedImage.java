@@ -0,0 +1,9 @@
+package com.devminds.rentify.service.download;
+
+import java.nio.file.Path;
+
+/**
+ * A complete local copy of a stored image together with the metadata needed to serve it.
+ */
+public record CachedImage(Path path, String eTag, String contentType, long length) {
+}
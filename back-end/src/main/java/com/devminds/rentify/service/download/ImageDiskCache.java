@@ -0,0 +1,182 @@
+package com.devminds.rentify.service.download;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.devminds.rentify.service.StorageService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded disk cache of downloaded images in front of S3. Eviction follows Caffeine's
+ * W-TinyLFU policy weighted by file size, so popular listing photos stay on disk while
+ * one-off downloads are dropped first. Concurrent misses for the same file share one S3
+ * fetch, which is written to a temporary file and atomically moved into place, so a reader
+ * never sees a partial copy. Entries expire {@code expire-after} after they were fetched, so
+ * an object replaced in S3 under the same key is picked up again. Files get unique names and
+ * are deleted {@code delete-delay-ms} after their entry leaves the cache, which gives
+ * responses already handed to the container's sendfile time to open them; the directory is
+ * cleared at startup since the index lives only in memory.
+ */
+@Component
+public class ImageDiskCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageDiskCache.class);
+    private static final String FILE_SUFFIX = ".img";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final StorageService storageService;
+    private final boolean enabled;
+    private final Path directory;
+    private final ExecutorService fillExecutor;
+    private final ScheduledExecutorService deleteExecutor;
+    private final AsyncCache<String, CachedImage> images;
+
+    public ImageDiskCache(StorageService storageService,
+                          @Value("${application.storage.cache.enabled}") boolean enabled,
+                          @Value("${application.storage.cache.directory}") String directory,
+                          @Value("${application.storage.cache.max-size}") DataSize maxSize,
+                          @Value("${application.storage.cache.fill-threads}") int fillThreads,
+                          @Value("${application.storage.cache.expire-after}") Duration expireAfter,
+                          @Value("${application.storage.cache.delete-delay-ms}") long deleteDelayMs,
+                          MeterRegistry meterRegistry) throws IOException {
+        this.storageService = storageService;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.fillExecutor = Executors.newFixedThreadPool(fillThreads, runnable -> {
+            Thread thread = new Thread(runnable, "image-cache-fill-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deleteExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-cache-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String fileName, CachedImage image) -> (int) Math.min(Integer.MAX_VALUE, image.length()))
+                .expireAfterWrite(expireAfter)
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String fileName, CachedImage image, RemovalCause cause) -> {
+                    if (image != null) {
+                        deleteExecutor.schedule(() -> deleteQuietly(image.path()), deleteDelayMs,
+                                TimeUnit.MILLISECONDS);
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, images.synchronous(), "images.disk");
+        meterRegistry.gauge("rentify.images.cache.bytes", images, cache -> cache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L));
+
+        if (enabled) {
+            Files.createDirectories(this.directory);
+            clearDirectory();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the local copy of {@code fileName}, fetching it from S3 on a miss. Callers
+     * missing the same file at the same time wait for the single fetch already running.
+     */
+    public CachedImage get(String fileName) {
+        try {
+            return images.get(fileName, (key, executor) -> CompletableFuture.supplyAsync(() -> fill(key), fillExecutor))
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CachedImage getIfPresent(String fileName) {
+        CompletableFuture<CachedImage> image = images.getIfPresent(fileName);
+        return image != null && image.isDone() && !image.isCompletedExceptionally() ? image.join() : null;
+    }
+
+    public void invalidate(String fileName) {
+        images.synchronous().invalidate(fileName);
+    }
+
+    /**
+     * Drops {@code image} if it is still the cached copy of {@code fileName}, for example
+     * after its file went missing underneath the cache.
+     */
+    public void evict(String fileName, CachedImage image) {
+        images.synchronous().asMap().remove(fileName, image);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fillExecutor.shutdownNow();
+        deleteExecutor.shutdownNow();
+    }
+
+    private CachedImage fill(String fileName) {
+        String name = UUID.randomUUID().toString();
+        Path temporary = directory.resolve(name + TEMPORARY_SUFFIX);
+        Path target = directory.resolve(name + FILE_SUFFIX);
+        S3Object object = storageService.downloadFile(fileName, null, null, null);
+        try (object; InputStream content = object.getObjectContent()) {
+            Files.copy(content, temporary);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Cannot cache " + fileName, e);
+        }
+
+        ObjectMetadata metadata = object.getObjectMetadata();
+        return new CachedImage(target, metadata.getETag(), metadata.getContentType(), metadata.getContentLength());
+    }
+
+    private void clearDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.toString().endsWith(FILE_SUFFIX) || path.toString().endsWith(TEMPORARY_SUFFIX))
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot delete cached image {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.devminds.rentify.service.download;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.devminds.rentify.exception.TooManyDownloadsException;
+import com.devminds.rentify.service.StorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens stored images for streaming. When the {@link ImageDiskCache} is enabled, images are
+ * served from their local copy, conditional and range requests included. Otherwise those
+ * requests are forwarded to S3 so that only the bytes the client needs leave the bucket.
+ * At most {@code max-in-flight} downloads are open at once; further requests wait up to
+ * {@code acquire-timeout-ms} for a slot and are then turned away.
+ */
+@Service
+public class ImageDownloadService {
+    private static final String TOO_MANY_DOWNLOADS_MESSAGE = "Too many downloads in progress, please retry";
+
+    private final StorageService storageService;
+    private final ImageDiskCache imageDiskCache;
+    private final Semaphore permits;
+    private final int bufferSize;
+    private final Counter rejectedCounter;
+
+    @Value("${application.storage.download.acquire-timeout-ms}")
+    private long acquireTimeoutMs;
+
+    public ImageDownloadService(StorageService storageService, ImageDiskCache imageDiskCache,
+                                @Value("${application.storage.download.max-in-flight}") int maxInFlight,
+                                @Value("${application.storage.download.buffer-size}") DataSize bufferSize,
+                                MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        this.imageDiskCache = imageDiskCache;
+        this.permits = new Semaphore(maxInFlight);
+        this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+        this.rejectedCounter = meterRegistry.counter("rentify.images.download.rejected");
+        meterRegistry.gauge("rentify.images.download.in-flight", permits,
+                semaphore -> maxInFlight - semaphore.availablePermits());
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public StoredFile head(String fileName) {
+        CachedImage image = imageDiskCache.isEnabled() ? imageDiskCache.getIfPresent(fileName) : null;
+        if (image != null) {
+            return StoredFile.metadata(image.eTag(), image.contentType(), image.length(), () -> { });
+        }
+
+        ObjectMetadata metadata = storageService.getFileMetadata(fileName);
+        return StoredFile.metadata(metadata.getETag(), metadata.getContentType(), metadata.getInstanceLength(),
+                () -> { });
+    }
+
+    /**
+     * Opens {@code fileName}, honouring the {@code Range} header and the entity tags of an
+     * {@code If-None-Match} header. A suffix range needs the file length first, which costs
+     * an extra metadata request; every other request is a single GET.
+     */
+    public StoredFile open(String fileName, String rangeHeader, List<String> ifNoneMatch) {
+        acquire();
+        try {
+            RequestedRange requested = RequestedRange.parse(rangeHeader);
+            if (imageDiskCache.isEnabled()) {
+                StoredFile cached = openCached(fileName, requested, ifNoneMatch);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            return open(fileName, requested, ifNoneMatch);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Serves the request from the local copy, filling it first on a miss. Returns
+     * {@code null} when the copy was evicted before it could be opened, in which case the
+     * caller falls back to S3.
+     */
+    private StoredFile openCached(String fileName, RequestedRange requested, List<String> ifNoneMatch) {
+        CachedImage image = imageDiskCache.get(fileName);
+        if (ifNoneMatch != null && ifNoneMatch.stream()
+                .anyMatch(tag -> "*".equals(tag) || tag.replace("\"", "").equals(image.eTag()))) {
+            return StoredFile.notModified(image.eTag(), permits::release);
+        }
+
+        ByteRange range = null;
+        if (requested != null) {
+            range = requested.resolve(image.length());
+            if (range == null) {
+                return StoredFile.rangeNotSatisfiable(image.length(), permits::release);
+            }
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(image.path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            imageDiskCache.evict(fileName, image);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return StoredFile.content(image.eTag(), image.contentType(), image.length(), range, image.path(), channel,
+                permits::release);
+    }
+
+    private StoredFile open(String fileName, RequestedRange requested, List<String> ifNoneMatch) {
+        Long rangeStart = null;
+        Long rangeEnd = null;
+        if (requested != null && requested.isSuffix()) {
+            long length = storageService.getFileMetadata(fileName).getInstanceLength();
+            ByteRange resolved = requested.resolve(length);
+            if (resolved == null) {
+                return StoredFile.rangeNotSatisfiable(length, permits::release);
+            }
+            rangeStart = resolved.start();
+            rangeEnd = resolved.end();
+        } else if (requested != null) {
+            rangeStart = requested.first();
+            rangeEnd = requested.last();
+        }
+
+        S3Object object;
+        try {
+            object = storageService.downloadFile(fileName, rangeStart, rangeEnd, ifNoneMatch);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                long length = storageService.getFileMetadata(fileName).getInstanceLength();
+                return StoredFile.rangeNotSatisfiable(length, permits::release);
+            }
+            throw e;
+        }
+        if (object == null) {
+            String matchedETag = ifNoneMatch.size() == 1 && !"*".equals(ifNoneMatch.get(0))
+                    ? ifNoneMatch.get(0).replace("\"", "")
+                    : null;
+            return StoredFile.notModified(matchedETag, permits::release);
+        }
+
+        ObjectMetadata metadata = object.getObjectMetadata();
+        Long[] contentRange = metadata.getContentRange();
+        ByteRange range = rangeStart != null && contentRange != null
+                ? new ByteRange(contentRange[0], contentRange[1])
+                : null;
+        S3ObjectInputStream content = object.getObjectContent();
+        return StoredFile.content(metadata.getETag(), metadata.getContentType(), metadata.getInstanceLength(), range,
+                content, content::abort, permits::release);
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        throw new TooManyDownloadsException(TOO_MANY_DOWNLOADS_MESSAGE);
+    }
+}
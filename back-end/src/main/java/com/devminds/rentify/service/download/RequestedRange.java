@@ -0,0 +1,61 @@
+package com.devminds.rentify.service.download;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single byte range from an HTTP {@code Range} header: either {@code first-last},
+ * {@code first-} or the suffix form {@code -length}. A {@code null} field is left open.
+ */
+public record RequestedRange(Long first, Long last, Long suffixLength) {
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    /**
+     * Returns {@code null} when the header is absent, malformed or asks for several ranges,
+     * in which case the whole file is served as the HTTP specification allows.
+     */
+    public static RequestedRange parse(String header) {
+        if (header == null) {
+            return null;
+        }
+
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        try {
+            String first = matcher.group(1);
+            String last = matcher.group(2);
+            if (first.isEmpty()) {
+                return last.isEmpty() || Long.parseLong(last) == 0
+                        ? null
+                        : new RequestedRange(null, null, Long.parseLong(last));
+            }
+
+            long start = Long.parseLong(first);
+            Long end = last.isEmpty() ? null : Long.parseLong(last);
+            return end != null && end < start ? null : new RequestedRange(start, end, null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public boolean isSuffix() {
+        return suffixLength != null;
+    }
+
+    /**
+     * Resolves the range against a file of {@code length} bytes, or returns {@code null}
+     * when no byte of the file falls in it.
+     */
+    public ByteRange resolve(long length) {
+        if (isSuffix()) {
+            return length == 0 ? null : new ByteRange(Math.max(0, length - suffixLength), length - 1);
+        }
+        if (first >= length) {
+            return null;
+        }
+        return new ByteRange(first, last == null ? length - 1 : Math.min(last, length - 1));
+    }
+}
@@ -0,0 +1,181 @@
+package com.devminds.rentify.service.download;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The outcome of opening a stored file for download: its metadata and, unless the client's
+ * copy is current or the requested range lies outside the file, an open body. The body is
+ * either a remote stream copied through a fixed-size buffer or a local file handed over
+ * with {@link FileChannel#transferTo}, and {@link #close()} must be called exactly once the
+ * response is done to release the connection and the download slot.
+ */
+public final class StoredFile implements Closeable {
+    public enum Status {
+        CONTENT, METADATA, NOT_MODIFIED, RANGE_NOT_SATISFIABLE
+    }
+
+    private final Status status;
+    private final String eTag;
+    private final String contentType;
+    private final long length;
+    private final ByteRange range;
+    private final Body body;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private StoredFile(Status status, String eTag, String contentType, long length, ByteRange range, Body body,
+                       Runnable onClose) {
+        this.status = status;
+        this.eTag = eTag;
+        this.contentType = contentType;
+        this.length = length;
+        this.range = range;
+        this.body = body;
+        this.onClose = onClose;
+    }
+
+    /**
+     * An open body covering {@code range}, or the whole file when {@code range} is
+     * {@code null}. {@code onFailure} runs when copying fails half way, for example to abort
+     * a connection that should not be drained.
+     */
+    public static StoredFile content(String eTag, String contentType, long length, ByteRange range,
+                                     InputStream content, Runnable onFailure, Runnable onClose) {
+        return new StoredFile(Status.CONTENT, eTag, contentType, length, range, new StreamBody(content, onFailure),
+                onClose);
+    }
+
+    /**
+     * A body served from {@code channel}, an open local copy of the whole file at
+     * {@code path}, positioned at {@code range} when one is given.
+     */
+    public static StoredFile content(String eTag, String contentType, long length, ByteRange range,
+                                     Path path, FileChannel channel, Runnable onClose) {
+        long position = range != null ? range.start() : 0;
+        long count = range != null ? range.length() : length;
+        return new StoredFile(Status.CONTENT, eTag, contentType, length, range,
+                new ChannelBody(path, channel, position, count), onClose);
+    }
+
+    public static StoredFile metadata(String eTag, String contentType, long length, Runnable onClose) {
+        return new StoredFile(Status.METADATA, eTag, contentType, length, null, null, onClose);
+    }
+
+    public static StoredFile notModified(String eTag, Runnable onClose) {
+        return new StoredFile(Status.NOT_MODIFIED, eTag, null, -1, null, null, onClose);
+    }
+
+    public static StoredFile rangeNotSatisfiable(long length, Runnable onClose) {
+        return new StoredFile(Status.RANGE_NOT_SATISFIABLE, null, null, length, null, null, onClose);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Length of the whole file, or -1 when it is not known.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    public ByteRange getRange() {
+        return range;
+    }
+
+    public long getContentLength() {
+        return range != null ? range.length() : length;
+    }
+
+    /**
+     * The local copy the body is read from, or {@code null} when it comes from a remote
+     * stream. The container can send this file itself instead of {@link #writeTo}.
+     */
+    public Path getLocalPath() {
+        return body instanceof ChannelBody channelBody ? channelBody.path() : null;
+    }
+
+    public void writeTo(OutputStream outputStream, int bufferSize) throws IOException {
+        body.writeTo(outputStream, bufferSize);
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (body != null) {
+                body.close();
+            }
+        } finally {
+            onClose.run();
+        }
+    }
+
+    private interface Body extends Closeable {
+        void writeTo(OutputStream outputStream, int bufferSize) throws IOException;
+    }
+
+    private record StreamBody(InputStream content, Runnable onFailure) implements Body {
+
+        @Override
+        public void writeTo(OutputStream outputStream, int bufferSize) throws IOException {
+            byte[] buffer = new byte[bufferSize];
+            try {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+            } catch (IOException | RuntimeException e) {
+                onFailure.run();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            content.close();
+        }
+    }
+
+    private record ChannelBody(Path path, FileChannel channel, long position, long count) implements Body {
+
+        @Override
+        public void writeTo(OutputStream outputStream, int bufferSize) throws IOException {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long transferred = 0;
+            while (transferred < count) {
+                long sent = channel.transferTo(position + transferred, count - transferred, target);
+                if (sent <= 0) {
+                    throw new IOException("File ended before the expected " + count + " bytes were sent.");
+                }
+                transferred += sent;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
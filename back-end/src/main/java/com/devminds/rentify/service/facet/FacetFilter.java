@@ -0,0 +1,12 @@
+package com.devminds.rentify.service.facet;
+
+/**
+ * Selected facet values; {@code null} means the facet is not filtered.
+ */
+public record FacetFilter(Long categoryId, String city, Integer priceRange) {
+    public static final FacetFilter NONE = new FacetFilter(null, null, null);
+
+    public static FacetFilter byCategory(Long categoryId) {
+        return new FacetFilter(categoryId, null, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.devminds.rentify.service.facet;
+
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.event.ItemChangedEvent;
+import com.devminds.rentify.repository.ItemFacetProjection;
+import com.devminds.rentify.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+public class ItemFacetIndexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemFacetIndexer.class);
+
+    private final ItemFacetIndex itemFacetIndex;
+    private final ItemRepository itemRepository;
+
+    @Value("${application.facets.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    public ItemFacetIndexer(ItemFacetIndex itemFacetIndex, ItemRepository itemRepository) {
+        this.itemFacetIndex = itemFacetIndex;
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuildThread = new Thread(this::rebuild, "item-facet-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    public void rebuild() {
+        long cursor = 0;
+        int indexed = 0;
+        List<ItemFacetProjection> batch;
+        do {
+            batch = itemRepository.findFacetProjections(cursor, Limit.of(rebuildBatchSize));
+            for (ItemFacetProjection item : batch) {
+                itemFacetIndex.put(item.getId(), item.getCategoryId(), item.getCategoryName(),
+                        item.getCity(), item.getPrice());
+                cursor = item.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == rebuildBatchSize);
+
+        LOGGER.info("Item facet index rebuilt with {} items", indexed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.item();
+        if (event.removed()) {
+            itemFacetIndex.remove(item.getId());
+            return;
+        }
+
+        Long categoryId = item.getCategory() != null ? item.getCategory().getId() : null;
+        String categoryName = item.getCategory() != null ? item.getCategory().getName() : null;
+        String city = item.getAddress() != null ? item.getAddress().getCity() : null;
+        itemFacetIndex.put(item.getId(), categoryId, categoryName, city, item.getPrice());
+    }
+}
@@ -0,0 +1,126 @@
+package com.devminds.rentify.service.geo;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-size latitude/longitude grid over item locations. A radius query only visits the
+ * cells overlapping the bounding box of the circle and then filters by exact distance.
+ */
+@Component
+public class ItemGeoIndex {
+    private static final double CELL_SIZE_DEGREES = 0.05;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final long LONGITUDE_CELLS = (long) Math.ceil(360 / CELL_SIZE_DEGREES) + 1;
+
+    private final Map<Long, List<GeoEntry>> cells = new HashMap<>();
+    private final Map<Long, GeoEntry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long itemId, GeoPoint location, Long categoryId, double price) {
+        GeoEntry entry = new GeoEntry(itemId, location, categoryId, price);
+        lock.writeLock().lock();
+        try {
+            removeEntry(itemId);
+            entries.put(itemId, entry);
+            cells.computeIfAbsent(cellKey(location.latitude(), location.longitude()), key -> new ArrayList<>())
+                    .add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<NearbyItem> findNearby(GeoPoint center, double radiusKm, Long categoryId,
+                                       Double minPrice, Double maxPrice, int limit) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double longitudeSpan = radiusKm / (KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(center.latitude()))));
+        long minLatitudeCell = latitudeCell(Math.max(-90, center.latitude() - latitudeSpan));
+        long maxLatitudeCell = latitudeCell(Math.min(90, center.latitude() + latitudeSpan));
+        long minLongitudeCell = longitudeCell(Math.max(-180, center.longitude() - longitudeSpan));
+        long maxLongitudeCell = longitudeCell(Math.min(180, center.longitude() + longitudeSpan));
+
+        List<NearbyItem> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long latitudeCell = minLatitudeCell; latitudeCell <= maxLatitudeCell; latitudeCell++) {
+                for (long longitudeCell = minLongitudeCell; longitudeCell <= maxLongitudeCell; longitudeCell++) {
+                    List<GeoEntry> cell = cells.get(latitudeCell * LONGITUDE_CELLS + longitudeCell);
+                    if (cell == null) {
+                        continue;
+                    }
+
+                    for (GeoEntry entry : cell) {
+                        if (!entry.matches(categoryId, minPrice, maxPrice)) {
+                            continue;
+                        }
+
+                        double distanceKm = center.distanceKm(entry.location().latitude(), entry.location().longitude());
+                        if (distanceKm <= radiusKm) {
+                            matches.add(new NearbyItem(entry.itemId(), distanceKm));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(NearbyItem::distanceKm))
+                .limit(limit)
+                .toList();
+    }
+
+    private void removeEntry(long itemId) {
+        GeoEntry previous = entries.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+
+        long key = cellKey(previous.location().latitude(), previous.location().longitude());
+        List<GeoEntry> cell = cells.get(key);
+        cell.remove(previous);
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return latitudeCell(latitude) * LONGITUDE_CELLS + longitudeCell(longitude);
+    }
+
+    private static long latitudeCell(double latitude) {
+        return (long) Math.floor((latitude + 90) / CELL_SIZE_DEGREES);
+    }
+
+    private static long longitudeCell(double longitude) {
+        return (long) Math.floor((longitude + 180) / CELL_SIZE_DEGREES);
+    }
+
+    public record NearbyItem(long itemId, double distanceKm) {
+    }
+
+    private record GeoEntry(long itemId, GeoPoint location, Long categoryId, double price) {
+        boolean matches(Long categoryFilter, Double minPrice, Double maxPrice) {
+            return (categoryFilter == null || categoryFilter.equals(categoryId))
+                    && (minPrice == null || price >= minPrice)
+                    && (maxPrice == null || price <= maxPrice);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.devminds.rentify.service.geo;
+
+import com.devminds.rentify.entity.Address;
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.event.ItemChangedEvent;
+import com.devminds.rentify.repository.ItemGeoProjection;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.service.AddressService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Geocodes addresses that have no coordinates yet, loads every item location into
+ * {@link ItemGeoIndex} after startup and keeps it current from {@link ItemChangedEvent}s.
+ */
+@Component
+public class ItemGeoIndexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemGeoIndexer.class);
+
+    private final ItemGeoIndex itemGeoIndex;
+    private final ItemRepository itemRepository;
+    private final AddressService addressService;
+    private final PostcodeGeocoder postcodeGeocoder;
+
+    @Value("${application.geo.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    public ItemGeoIndexer(ItemGeoIndex itemGeoIndex, ItemRepository itemRepository,
+                          AddressService addressService, PostcodeGeocoder postcodeGeocoder) {
+        this.itemGeoIndex = itemGeoIndex;
+        this.itemRepository = itemRepository;
+        this.addressService = addressService;
+        this.postcodeGeocoder = postcodeGeocoder;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuildThread = new Thread(this::rebuild, "item-geo-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    public void rebuild() {
+        int geocoded = addressService.geocodeMissingCoordinates();
+        long cursor = 0;
+        int indexed = 0;
+        List<ItemGeoProjection> batch;
+        do {
+            batch = itemRepository.findGeoProjections(cursor, Limit.of(rebuildBatchSize));
+            for (ItemGeoProjection item : batch) {
+                Optional<GeoPoint> location = locate(item.getLatitude(), item.getLongitude(), item.getPostCode());
+                if (location.isPresent()) {
+                    itemGeoIndex.put(item.getId(), location.get(), item.getCategoryId(), toDouble(item.getPrice()));
+                    indexed++;
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        LOGGER.info("Item geo index rebuilt with {} items ({} addresses geocoded)", indexed, geocoded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.item();
+        Address address = item.getAddress();
+        if (event.removed() || address == null) {
+            itemGeoIndex.remove(item.getId());
+            return;
+        }
+
+        Long categoryId = item.getCategory() != null ? item.getCategory().getId() : null;
+        locate(address.getLatitude(), address.getLongitude(), address.getPostCode())
+                .ifPresentOrElse(
+                        location -> itemGeoIndex.put(item.getId(), location, categoryId, toDouble(item.getPrice())),
+                        () -> itemGeoIndex.remove(item.getId()));
+    }
+
+    private Optional<GeoPoint> locate(Double latitude, Double longitude, String postCode) {
+        if (latitude != null && longitude != null) {
+            return Optional.of(new GeoPoint(latitude, longitude));
+        }
+
+        return postcodeGeocoder.geocode(postCode);
+    }
+
+    private static double toDouble(BigDecimal price) {
+        return price != null ? price.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.devminds.rentify.service.geo;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder that resolves a post code to the centroid listed in the bundled
+ * {@code post_code,latitude,longitude} file. No network calls are made.
+ */
+@Component
+public class PostcodeGeocoder {
+    private final Map<String, GeoPoint> centroids = new HashMap<>();
+
+    @Value("${application.geo.centroids-file}")
+    private Resource centroidsFile;
+
+    @PostConstruct
+    void loadCentroids() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(centroidsFile.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length == 3) {
+                    centroids.put(normalize(columns[0]),
+                            new GeoPoint(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim())));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load post code centroids.", e);
+        }
+    }
+
+    public Optional<GeoPoint> geocode(String postCode) {
+        if (postCode == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(centroids.get(normalize(postCode)));
+    }
+
+    private static String normalize(String postCode) {
+        return postCode.replace(" ", "").trim().toUpperCase();
+    }
+}
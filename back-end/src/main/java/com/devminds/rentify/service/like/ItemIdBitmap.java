@@ -0,0 +1,174 @@
+package com.devminds.rentify.service.like;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of item ids in the style of a Roaring bitmap. Ids are split on their high 16
+ * bits into containers; a container holds its low 16 bits as a sorted {@code char[]} while it
+ * is sparse and switches to a 65536-bit bitmap once it passes {@link #ARRAY_LIMIT} entries,
+ * the point where the bitmap becomes the smaller of the two. A user with a handful of likes
+ * costs a few dozen bytes, and lookups are a binary search or a single bit test.
+ * Methods are synchronized since like requests update a bitmap that listings are reading.
+ */
+final class ItemIdBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+
+    synchronized boolean contains(long itemId) {
+        int index = Arrays.binarySearch(keys, high(itemId));
+        return index >= 0 && containers[index].contains(low(itemId));
+    }
+
+    synchronized void add(long itemId) {
+        char high = high(itemId);
+        int index = Arrays.binarySearch(keys, high);
+        if (index < 0) {
+            index = -index - 1;
+            keys = insert(keys, index, high);
+            containers = Arrays.copyOf(containers, containers.length + 1);
+            System.arraycopy(containers, index, containers, index + 1, containers.length - index - 1);
+            containers[index] = new ArrayContainer();
+        }
+
+        containers[index] = containers[index].add(low(itemId));
+    }
+
+    synchronized void remove(long itemId) {
+        int index = Arrays.binarySearch(keys, high(itemId));
+        if (index < 0) {
+            return;
+        }
+
+        Container container = containers[index].remove(low(itemId));
+        if (container != null) {
+            containers[index] = container;
+            return;
+        }
+
+        keys = delete(keys, index);
+        Container[] remaining = new Container[containers.length - 1];
+        System.arraycopy(containers, 0, remaining, 0, index);
+        System.arraycopy(containers, index + 1, remaining, index, remaining.length - index);
+        containers = remaining;
+    }
+
+    private static char high(long itemId) {
+        return (char) (Math.toIntExact(itemId) >>> 16);
+    }
+
+    private static char low(long itemId) {
+        return (char) itemId;
+    }
+
+    private static char[] insert(char[] values, int index, char value) {
+        char[] inserted = new char[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, index);
+        inserted[index] = value;
+        System.arraycopy(values, index, inserted, index + 1, values.length - index);
+        return inserted;
+    }
+
+    private static char[] delete(char[] values, int index) {
+        char[] remaining = new char[values.length - 1];
+        System.arraycopy(values, 0, remaining, 0, index);
+        System.arraycopy(values, index + 1, remaining, index, remaining.length - index);
+        return remaining;
+    }
+
+    private interface Container {
+        boolean contains(char value);
+
+        /**
+         * Returns the container to keep, which may be a different representation.
+         */
+        Container add(char value);
+
+        /**
+         * Returns the container to keep, or {@code null} when it became empty.
+         */
+        Container remove(char value);
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[0];
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (values.length == ARRAY_LIMIT) {
+                BitmapContainer bitmap = new BitmapContainer();
+                for (char existing : values) {
+                    bitmap.add(existing);
+                }
+                return bitmap.add(value);
+            }
+
+            values = insert(values, -index - 1, value);
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index >= 0) {
+                values = delete(values, index);
+            }
+
+            return values.length > 0 ? this : null;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            if (cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[cardinality];
+            int next = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                    array.values[next++] = (char) (word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                }
+            }
+            return array;
+        }
+    }
+}
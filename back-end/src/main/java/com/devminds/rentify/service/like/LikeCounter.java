@@ -0,0 +1,137 @@
+package com.devminds.rentify.service.like;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Absorbs like and unlike deltas in memory and applies them to {@code item.like_count} in
+ * batched UPDATEs. Deltas are spread over stripes picked by thread, like {@code LongAdder}
+ * cells, so a burst of likes on one hot item does not serialise on a single map bin. Each
+ * stripe entry is taken out with an atomic remove, so no delta is lost between the request
+ * threads and the flusher. The denormalised count can drift if an instance dies with pending
+ * deltas, which the nightly reconciliation against {@code liked_item} corrects.
+ * <p>
+ * Every instance keeps deltas of its own, so a recount may already include likes whose deltas
+ * another instance has yet to flush. Reconciliation therefore leaves alone items liked within
+ * {@code reconcile-quiet-seconds}, far longer than any flush takes; they are recounted on the
+ * next run. Unlikes leave no row behind, so an item unliked on another instance in the last
+ * flush interval can still end up one short until then.
+ */
+@Component
+public class LikeCounter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LikeCounter.class);
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE item SET like_count = GREATEST(like_count + ?, 0) WHERE id = ?";
+    private static final String MAX_ITEM_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM item";
+    private static final String RECONCILE_SQL = """
+            UPDATE item i
+            LEFT JOIN (SELECT item_id, COUNT(*) AS likes FROM liked_item
+                       WHERE item_id > ? AND item_id <= ? GROUP BY item_id) l ON l.item_id = i.id
+            SET i.like_count = COALESCE(l.likes, 0)
+            WHERE i.id > ? AND i.id <= ? AND i.like_count <> COALESCE(l.likes, 0)
+              AND NOT EXISTS (SELECT 1 FROM liked_item r
+                              WHERE r.item_id = i.id AND r.created_at >= CURRENT_TIMESTAMP(3) - INTERVAL ? SECOND)""";
+
+    private final List<Map<Long, Long>> stripes;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.likes.reconcile-batch-size}")
+    private int reconcileBatchSize;
+
+    @Value("${application.likes.reconcile-quiet-seconds}")
+    private long reconcileQuietSeconds;
+
+    public LikeCounter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       @Value("${application.likes.stripes}") int stripeCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    public void increment(long itemId) {
+        add(itemId, 1);
+    }
+
+    public void decrement(long itemId) {
+        add(itemId, -1);
+    }
+
+    @Scheduled(fixedDelayString = "${application.likes.flush-interval-ms}")
+    public void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map<Long, Long> stripe : stripes) {
+            for (Long itemId : stripe.keySet()) {
+                Long delta = stripe.remove(itemId);
+                if (delta != null) {
+                    deltas.merge(itemId, delta, Long::sum);
+                }
+            }
+        }
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((itemId, delta) -> {
+            if (delta != 0) {
+                updates.add(new Object[]{delta, itemId});
+            }
+        });
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        // All or nothing, so that the deltas put back after a failure were not partly applied.
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, updates));
+        } catch (DataAccessException | TransactionException e) {
+            LOGGER.warn("Failed to flush like counts of {} items, retrying on the next run", updates.size(), e);
+            deltas.forEach(this::add);
+        }
+    }
+
+    /**
+     * Recomputes {@code like_count} from {@code liked_item} in item id ranges, so no single
+     * statement locks the whole table, skipping items with likes too recent to be sure every
+     * instance has flushed them.
+     */
+    @Scheduled(cron = "${application.likes.reconcile-cron}")
+    public void reconcile() {
+        flush();
+
+        Long maxId = jdbcTemplate.queryForObject(MAX_ITEM_ID_SQL, Long.class);
+        int corrected = 0;
+        for (long from = 0; maxId != null && from < maxId; from += reconcileBatchSize) {
+            long to = from + reconcileBatchSize;
+            corrected += jdbcTemplate.update(RECONCILE_SQL, from, to, from, to, reconcileQuietSeconds);
+        }
+
+        if (corrected > 0) {
+            LOGGER.info("Like count reconciliation corrected {} items", corrected);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    private void add(long itemId, long delta) {
+        stripes.get((int) (Thread.currentThread().getId() % stripes.size())).merge(itemId, delta, Long::sum);
+    }
+}
@@ -0,0 +1,97 @@
+package com.devminds.rentify.service.like;
+
+import com.devminds.rentify.repository.LikedItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Size-bounded cache of each user's liked item ids as an {@link ItemIdBitmap}, loaded on
+ * first use. Loads and like/unlike updates for a user run under the same striped lock, so a
+ * like that commits while the user's bitmap is being loaded is either seen by the load query
+ * or applied to the bitmap right after it is cached, never lost. Likes made through another
+ * instance only reach this one on reload, so entries expire {@code cache-expire-after} after
+ * they were loaded.
+ */
+@Component
+public class LikedItemsCache {
+    private final LikedItemRepository likedItemRepository;
+    private final Object[] locks;
+    private final Cache<Long, ItemIdBitmap> bitmapsByUser;
+
+    public LikedItemsCache(LikedItemRepository likedItemRepository,
+                           @Value("${application.likes.cached-users}") int cachedUsers,
+                           @Value("${application.likes.cache-lock-stripes}") int lockStripes,
+                           @Value("${application.likes.cache-expire-after}") Duration expireAfter) {
+        this.likedItemRepository = likedItemRepository;
+        this.locks = new Object[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new Object();
+        }
+        this.bitmapsByUser = Caffeine.newBuilder()
+                .maximumSize(cachedUsers)
+                .expireAfterWrite(expireAfter)
+                .build();
+    }
+
+    /**
+     * Returns whether the user likes each item through a single bitmap lookup per item.
+     */
+    public LikedItems getLikedItems(Long userId) {
+        ItemIdBitmap bitmap = getCached(userId);
+        if (bitmap == null) {
+            synchronized (lockFor(userId)) {
+                bitmap = getCached(userId);
+                if (bitmap == null) {
+                    bitmap = new ItemIdBitmap();
+                    for (Long itemId : likedItemRepository.findItemIdsByUserId(userId)) {
+                        bitmap.add(itemId);
+                    }
+                    putCached(userId, bitmap);
+                }
+            }
+        }
+
+        return bitmap::contains;
+    }
+
+    public void onLike(Long userId, Long itemId) {
+        synchronized (lockFor(userId)) {
+            ItemIdBitmap bitmap = getCached(userId);
+            if (bitmap != null) {
+                bitmap.add(itemId);
+            }
+        }
+    }
+
+    public void onUnlike(Long userId, Long itemId) {
+        synchronized (lockFor(userId)) {
+            ItemIdBitmap bitmap = getCached(userId);
+            if (bitmap != null) {
+                bitmap.remove(itemId);
+            }
+        }
+    }
+
+    private Object lockFor(Long userId) {
+        return locks[Math.floorMod(userId.hashCode(), locks.length)];
+    }
+
+    private ItemIdBitmap getCached(Long userId) {
+        return bitmapsByUser.getIfPresent(userId);
+    }
+
+    private void putCached(Long userId, ItemIdBitmap bitmap) {
+        bitmapsByUser.put(userId, bitmap);
+    }
+
+    @FunctionalInterface
+    public interface LikedItems {
+        LikedItems NONE = itemId -> false;
+
+        boolean contains(long itemId);
+    }
+}
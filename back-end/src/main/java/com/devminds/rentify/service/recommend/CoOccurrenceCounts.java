@@ -0,0 +1,73 @@
+package com.devminds.rentify.service.recommend;
+
+/**
+ * Sparse item co-occurrence matrix plus the number of users behind each item. A pair is keyed
+ * by its two item ids packed into one long, smaller id first, so each pair is stored once.
+ */
+final class CoOccurrenceCounts {
+    private final LongIntMap pairCounts;
+    private final LongIntMap itemUsers;
+
+    CoOccurrenceCounts(int expectedPairs, int expectedItems) {
+        this.pairCounts = new LongIntMap(expectedPairs);
+        this.itemUsers = new LongIntMap(expectedItems);
+    }
+
+    static long pairKey(long itemId, long otherItemId) {
+        long first = Math.min(itemId, otherItemId);
+        long second = Math.max(itemId, otherItemId);
+        return (long) Math.toIntExact(first) << 32 | Math.toIntExact(second);
+    }
+
+    static long firstItem(long pairKey) {
+        return pairKey >>> 32;
+    }
+
+    static long secondItem(long pairKey) {
+        return pairKey & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Counts one user's distinct items: every item gains a user and every pair among them
+     * gains a co-occurrence.
+     */
+    void addUser(long[] itemIds, int count) {
+        for (int i = 0; i < count; i++) {
+            itemUsers.addTo(itemIds[i], 1);
+            for (int j = i + 1; j < count; j++) {
+                pairCounts.addTo(pairKey(itemIds[i], itemIds[j]), 1);
+            }
+        }
+    }
+
+    /**
+     * Counts a single new co-occurrence and returns the pair's updated count.
+     */
+    int addPair(long itemId, long otherItemId) {
+        return pairCounts.addTo(pairKey(itemId, otherItemId), 1);
+    }
+
+    void addItemUser(long itemId) {
+        itemUsers.addTo(itemId, 1);
+    }
+
+    int getItemUsers(long itemId) {
+        return itemUsers.get(itemId);
+    }
+
+    int getPairCount(long itemId, long otherItemId) {
+        return pairCounts.get(pairKey(itemId, otherItemId));
+    }
+
+    LongIntMap getPairCounts() {
+        return pairCounts;
+    }
+
+    CoOccurrenceCounts merge(CoOccurrenceCounts other) {
+        CoOccurrenceCounts larger = pairCounts.size() >= other.pairCounts.size() ? this : other;
+        CoOccurrenceCounts smaller = larger == this ? other : this;
+        larger.pairCounts.addAll(smaller.pairCounts);
+        larger.itemUsers.addAll(smaller.itemUsers);
+        return larger;
+    }
+}
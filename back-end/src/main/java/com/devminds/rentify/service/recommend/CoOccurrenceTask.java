@@ -0,0 +1,69 @@
+package com.devminds.rentify.service.recommend;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task counting co-occurrences for the users in {@code (afterUserId, toUserId]}.
+ * Ranges are halved until they cover at most {@code leafSize} user ids; each leaf streams its
+ * users' distinct viewed and liked items ordered by user and counts them into a private
+ * {@link CoOccurrenceCounts}, and parents merge their children's counts. Users with more than
+ * {@code maxItemsPerUser} items only contribute their first ones, since pairs grow
+ * quadratically and such heavy histories are mostly crawlers.
+ */
+final class CoOccurrenceTask extends RecursiveTask<CoOccurrenceCounts> {
+    private static final String USER_ITEMS_SQL = """
+            SELECT user_id, item_id FROM history
+            WHERE user_id > ? AND user_id <= ? AND item_id IS NOT NULL
+            UNION
+            SELECT user_id, item_id FROM liked_item
+            WHERE user_id > ? AND user_id <= ? AND item_id IS NOT NULL
+            ORDER BY user_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long afterUserId;
+    private final long toUserId;
+    private final long leafSize;
+    private final int maxItemsPerUser;
+
+    CoOccurrenceTask(JdbcTemplate jdbcTemplate, long afterUserId, long toUserId, long leafSize, int maxItemsPerUser) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.afterUserId = afterUserId;
+        this.toUserId = toUserId;
+        this.leafSize = leafSize;
+        this.maxItemsPerUser = maxItemsPerUser;
+    }
+
+    @Override
+    protected CoOccurrenceCounts compute() {
+        if (toUserId - afterUserId > leafSize) {
+            long middle = afterUserId + (toUserId - afterUserId) / 2;
+            CoOccurrenceTask left = new CoOccurrenceTask(jdbcTemplate, afterUserId, middle, leafSize, maxItemsPerUser);
+            CoOccurrenceTask right = new CoOccurrenceTask(jdbcTemplate, middle, toUserId, leafSize, maxItemsPerUser);
+            left.fork();
+            CoOccurrenceCounts rightCounts = right.compute();
+            return left.join().merge(rightCounts);
+        }
+
+        CoOccurrenceCounts counts = new CoOccurrenceCounts(1024, 256);
+        long[] userItems = new long[maxItemsPerUser];
+        int[] userItemCount = {0};
+        long[] currentUser = {-1};
+        jdbcTemplate.query(USER_ITEMS_SQL, (RowCallbackHandler) resultSet -> {
+            long userId = resultSet.getLong("user_id");
+            if (userId != currentUser[0]) {
+                counts.addUser(userItems, userItemCount[0]);
+                currentUser[0] = userId;
+                userItemCount[0] = 0;
+            }
+            if (userItemCount[0] < maxItemsPerUser) {
+                userItems[userItemCount[0]++] = resultSet.getLong("item_id");
+            }
+        }, afterUserId, toUserId, afterUserId, toUserId);
+        counts.addUser(userItems, userItemCount[0]);
+
+        return counts;
+    }
+}
@@ -0,0 +1,238 @@
+package com.devminds.rentify.service.recommend;
+
+import com.devminds.rentify.service.view.ViewEvent;
+import com.devminds.rentify.service.view.ViewEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory "viewed this also viewed" index: the top-N items per item by cosine similarity
+ * of the users who viewed or liked them. {@link ItemSimilarityIndexer} replaces the whole
+ * co-occurrence matrix every night; in between, each signed-in view is paired with the
+ * viewer's recent items and the affected top-N lists are updated in place. The incremental
+ * path can count a pair the nightly build already saw, which the next rebuild evens out.
+ * <p>
+ * Request threads only enqueue their views. A single updater thread drains the queue and
+ * counts the new co-occurrences in a small delta next to the nightly matrix, which is never
+ * modified after it is built, so no request waits on a lock or on a resize of the large map.
+ * When the queue is full, views are left out of the index until the next rebuild.
+ */
+@Component
+public class ItemSimilarityIndex implements ViewEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemSimilarityIndex.class);
+
+    private final Map<Long, long[]> recentItemsByUser;
+    private final int topN;
+    private final int minCoOccurrence;
+    private final int recentItemsPerUser;
+    private final BlockingQueue<ViewEvent> queue;
+    private final Counter droppedCounter;
+    private final Thread updater;
+    private volatile Map<Long, SimilarItems> similarByItem = new ConcurrentHashMap<>();
+    private CoOccurrenceCounts counts = new CoOccurrenceCounts(16, 16);
+    private CoOccurrenceCounts delta = new CoOccurrenceCounts(16, 16);
+
+    public ItemSimilarityIndex(@Value("${application.recommendations.top-n}") int topN,
+                               @Value("${application.recommendations.min-co-occurrence}") int minCoOccurrence,
+                               @Value("${application.recommendations.recent-items-per-user}") int recentItemsPerUser,
+                               @Value("${application.recommendations.recent-users}") int recentUsers,
+                               @Value("${application.recommendations.queue-capacity}") int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        this.topN = topN;
+        this.minCoOccurrence = minCoOccurrence;
+        this.recentItemsPerUser = recentItemsPerUser;
+        this.recentItemsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > recentUsers;
+            }
+        };
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.droppedCounter = meterRegistry.counter("rentify.recommendations.views.dropped");
+        meterRegistry.gauge("rentify.recommendations.queue.size", queue, BlockingQueue::size);
+        this.updater = new Thread(this::runUpdater, "item-similarity-updater");
+        this.updater.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        updater.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        updater.interrupt();
+    }
+
+    public List<SimilarItem> getSimilar(long itemId, int limit) {
+        SimilarItems similarItems = similarByItem.getOrDefault(itemId, SimilarItems.EMPTY);
+        int size = Math.min(limit, similarItems.itemIds().length);
+        List<SimilarItem> similar = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            similar.add(new SimilarItem(similarItems.itemIds()[i], similarItems.scores()[i]));
+        }
+
+        return similar;
+    }
+
+    /**
+     * Ranks every pair of the freshly built matrix into per-item top-N lists and swaps them in,
+     * dropping the delta counted since the previous build. The ranking runs before the lock is
+     * taken, so the updater keeps going during the heavy part.
+     */
+    void replace(CoOccurrenceCounts newCounts) {
+        Map<Long, TopN> ranked = new HashMap<>();
+        newCounts.getPairCounts().forEach((pairKey, count) -> {
+            if (count < minCoOccurrence) {
+                return;
+            }
+
+            long first = CoOccurrenceCounts.firstItem(pairKey);
+            long second = CoOccurrenceCounts.secondItem(pairKey);
+            float score = score(newCounts, first, second, count);
+            ranked.computeIfAbsent(first, itemId -> new TopN(topN)).offer(second, score);
+            ranked.computeIfAbsent(second, itemId -> new TopN(topN)).offer(first, score);
+        });
+
+        Map<Long, SimilarItems> newSimilarByItem = new ConcurrentHashMap<>(ranked.size() * 2);
+        ranked.forEach((itemId, top) -> newSimilarByItem.put(itemId, top.toSimilarItems()));
+
+        synchronized (this) {
+            counts = newCounts;
+            delta = new CoOccurrenceCounts(16, 16);
+            similarByItem = newSimilarByItem;
+        }
+    }
+
+    @Override
+    public void onView(ViewEvent event) {
+        if (event.userId() != null && !queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void runUpdater() {
+        List<ViewEvent> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            queue.drainTo(batch);
+            try {
+                batch.forEach(this::apply);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to apply {} views to the item similarity index", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Runs on the updater thread only. The lock is shared with {@link #replace} and nothing
+     * else, so it is never contended by requests.
+     */
+    private synchronized void apply(ViewEvent event) {
+        long itemId = event.itemId();
+        long[] recentItems = recentItemsByUser.getOrDefault(event.userId(), new long[0]);
+        for (long recentItemId : recentItems) {
+            if (recentItemId == itemId) {
+                return;
+            }
+        }
+
+        delta.addItemUser(itemId);
+        for (long recentItemId : recentItems) {
+            int count = counts.getPairCount(itemId, recentItemId) + delta.addPair(itemId, recentItemId);
+            if (count >= minCoOccurrence) {
+                float score = (float) (count / Math.sqrt((double) itemUsers(itemId) * itemUsers(recentItemId)));
+                similarByItem.merge(itemId, SimilarItems.EMPTY.with(recentItemId, score, topN),
+                        (current, ignored) -> current.with(recentItemId, score, topN));
+                similarByItem.merge(recentItemId, SimilarItems.EMPTY.with(itemId, score, topN),
+                        (current, ignored) -> current.with(itemId, score, topN));
+            }
+        }
+
+        recentItemsByUser.put(event.userId(), append(recentItems, itemId));
+    }
+
+    private int itemUsers(long itemId) {
+        return counts.getItemUsers(itemId) + delta.getItemUsers(itemId);
+    }
+
+    private long[] append(long[] recentItems, long itemId) {
+        if (recentItems.length < recentItemsPerUser) {
+            long[] appended = Arrays.copyOf(recentItems, recentItems.length + 1);
+            appended[recentItems.length] = itemId;
+            return appended;
+        }
+
+        long[] shifted = new long[recentItemsPerUser];
+        System.arraycopy(recentItems, 1, shifted, 0, recentItemsPerUser - 1);
+        shifted[recentItemsPerUser - 1] = itemId;
+        return shifted;
+    }
+
+    private static float score(CoOccurrenceCounts counts, long itemId, long otherItemId, int count) {
+        return (float) (count / Math.sqrt((double) counts.getItemUsers(itemId) * counts.getItemUsers(otherItemId)));
+    }
+
+    public record SimilarItem(long itemId, float score) {
+    }
+
+    /**
+     * Fixed-size candidate list used while ranking; replaces its weakest entry once full.
+     */
+    private static final class TopN {
+        private final long[] itemIds;
+        private final float[] scores;
+        private int size;
+
+        private TopN(int capacity) {
+            this.itemIds = new long[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private void offer(long itemId, float score) {
+            if (size < itemIds.length) {
+                itemIds[size] = itemId;
+                scores[size++] = score;
+                return;
+            }
+
+            int weakest = 0;
+            for (int i = 1; i < size; i++) {
+                if (scores[i] < scores[weakest]) {
+                    weakest = i;
+                }
+            }
+            if (score > scores[weakest]) {
+                itemIds[weakest] = itemId;
+                scores[weakest] = score;
+            }
+        }
+
+        private SimilarItems toSimilarItems() {
+            return SimilarItems.of(itemIds, scores, size);
+        }
+    }
+}
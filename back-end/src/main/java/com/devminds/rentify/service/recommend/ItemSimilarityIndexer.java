@@ -0,0 +1,73 @@
+package com.devminds.rentify.service.recommend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds {@link ItemSimilarityIndex} from the full view and like history after startup and
+ * every night. The user id space is split by a {@link CoOccurrenceTask} on a dedicated
+ * fork-join pool, whose parallelism also bounds the number of database connections in use.
+ */
+@Component
+public class ItemSimilarityIndexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemSimilarityIndexer.class);
+    private static final String MAX_USER_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM user";
+
+    private final ItemSimilarityIndex itemSimilarityIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Value("${application.recommendations.rebuild-parallelism}")
+    private int rebuildParallelism;
+
+    @Value("${application.recommendations.users-per-task}")
+    private int usersPerTask;
+
+    @Value("${application.recommendations.max-items-per-user}")
+    private int maxItemsPerUser;
+
+    public ItemSimilarityIndexer(ItemSimilarityIndex itemSimilarityIndex, JdbcTemplate jdbcTemplate) {
+        this.itemSimilarityIndex = itemSimilarityIndex;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuildThread = new Thread(this::rebuild, "item-similarity-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    @Scheduled(cron = "${application.recommendations.rebuild-cron}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        try {
+            Long maxUserId = jdbcTemplate.queryForObject(MAX_USER_ID_SQL, Long.class);
+            CoOccurrenceCounts counts = pool.invoke(new CoOccurrenceTask(
+                    jdbcTemplate, 0, maxUserId != null ? maxUserId : 0, usersPerTask, maxItemsPerUser));
+            itemSimilarityIndex.replace(counts);
+
+            LOGGER.info("Item similarity index rebuilt with {} item pairs in {} ms",
+                    counts.getPairCounts().size(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException e) {
+            LOGGER.error("Item similarity index rebuild failed", e);
+        } finally {
+            pool.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.devminds.rentify.service.recommend;
+
+/**
+ * Open-addressing {@code long -> int} counter map. At 12 bytes per slot it holds the
+ * co-occurrence matrix of tens of millions of item pairs in a few hundred MB, where a
+ * {@code HashMap<Long, Integer>} would need several times that. Keys must be positive since
+ * {@code 0} marks an empty slot. Not thread-safe.
+ */
+final class LongIntMap {
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Adds {@code delta} to the key's count and returns the new count.
+     */
+    int addTo(long key, int delta) {
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return delta;
+        }
+
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    int get(long key) {
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? 0 : values[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds every count of {@code other} into this map.
+     */
+    void addAll(LongIntMap other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                addTo(other.keys[slot], other.values[slot]);
+            }
+        }
+    }
+
+    void forEach(Entry consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                addTo(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long key, int value);
+    }
+}
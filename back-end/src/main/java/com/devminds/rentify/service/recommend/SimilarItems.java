@@ -0,0 +1,72 @@
+package com.devminds.rentify.service.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Immutable top-N list of an item's most similar items, best first. Updates return a new
+ * instance so readers never see a half-modified list.
+ */
+record SimilarItems(long[] itemIds, float[] scores) {
+    static final SimilarItems EMPTY = new SimilarItems(new long[0], new float[0]);
+
+    /**
+     * Returns the list with {@code itemId} inserted or re-scored, keeping at most
+     * {@code capacity} entries, or this list if the candidate does not make the cut.
+     */
+    SimilarItems with(long itemId, float score, int capacity) {
+        int existing = -1;
+        for (int i = 0; i < itemIds.length; i++) {
+            if (itemIds[i] == itemId) {
+                existing = i;
+                break;
+            }
+        }
+        if (existing < 0 && itemIds.length == capacity && score <= scores[itemIds.length - 1]) {
+            return this;
+        }
+
+        int size = existing >= 0 || itemIds.length == capacity ? itemIds.length : itemIds.length + 1;
+        long[] newItemIds = new long[size];
+        float[] newScores = new float[size];
+        int next = 0;
+        boolean inserted = false;
+        for (int i = 0; i < itemIds.length && next < size; i++) {
+            if (i == existing) {
+                continue;
+            }
+            if (!inserted && score > scores[i]) {
+                newItemIds[next] = itemId;
+                newScores[next++] = score;
+                inserted = true;
+                if (next == size) {
+                    break;
+                }
+            }
+            newItemIds[next] = itemIds[i];
+            newScores[next++] = scores[i];
+        }
+        if (!inserted) {
+            newItemIds[next] = itemId;
+            newScores[next] = score;
+        }
+
+        return new SimilarItems(newItemIds, newScores);
+    }
+
+    static SimilarItems of(long[] itemIds, float[] scores, int size) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+
+        long[] sortedItemIds = new long[size];
+        float[] sortedScores = new float[size];
+        for (int i = 0; i < size; i++) {
+            sortedItemIds[i] = itemIds[order[i]];
+            sortedScores[i] = scores[order[i]];
+        }
+
+        return new SimilarItems(sortedItemIds, sortedScores);
+    }
+}
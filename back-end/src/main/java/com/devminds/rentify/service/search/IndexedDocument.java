@@ -0,0 +1,41 @@
+package com.devminds.rentify.service.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tokenized form of an item. Terms from the name are counted {@value #NAME_WEIGHT} times so
+ * that title matches rank above matches in the description or category. While the document
+ * is indexed, {@code slots} holds the position of its entry in each term's {@link Postings}.
+ */
+record IndexedDocument(long itemId, String[] terms, int[] frequencies, int length, int[] slots) {
+    private static final int NAME_WEIGHT = 2;
+
+    static IndexedDocument of(long itemId, String name, String description, String categoryName) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        length += count(termFrequencies, Tokenizer.tokenize(name), NAME_WEIGHT);
+        length += count(termFrequencies, Tokenizer.tokenize(description), 1);
+        length += count(termFrequencies, Tokenizer.tokenize(categoryName), 1);
+
+        String[] terms = new String[termFrequencies.size()];
+        int[] frequencies = new int[termFrequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            terms[i] = entry.getKey();
+            frequencies[i] = entry.getValue();
+            i++;
+        }
+
+        return new IndexedDocument(itemId, terms, frequencies, length, new int[terms.length]);
+    }
+
+    private static int count(Map<String, Integer> termFrequencies, List<String> tokens, int weight) {
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+
+        return tokens.size() * weight;
+    }
+}
@@ -0,0 +1,180 @@
+package com.devminds.rentify.service.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over item name, description and category name, ranked with BM25.
+ * The last query term is matched as a prefix so that results show up while the user types.
+ */
+@Component
+public class ItemSearchIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final Comparator<ScoredItem> BY_SCORE = Comparator
+            .comparingDouble(ScoredItem::score)
+            .thenComparingLong(ScoredItem::itemId);
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public void index(Long itemId, String name, String description, String categoryName) {
+        indexAll(List.of(IndexedDocument.of(itemId, name, description, categoryName)));
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<String> terms = Tokenizer.tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return Collections.emptyList();
+            }
+
+            float averageLength = Math.max(1f, (float) totalLength / documentCount);
+            ScoreAccumulator scores = new ScoreAccumulator(limit);
+            for (int i = 0; i < terms.size() - 1; i++) {
+                Postings termPostings = postings.get(terms.get(i));
+                if (termPostings != null) {
+                    accumulate(scores, termPostings, documentCount, averageLength);
+                }
+            }
+
+            String prefix = terms.get(terms.size() - 1);
+            int expansions = 0;
+            for (Postings termPostings : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                accumulate(scores, termPostings, documentCount, averageLength);
+                if (++expansions == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+
+            return topItemIds(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void indexAll(List<IndexedDocument> batch) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedDocument document : batch) {
+                removeDocument(document.itemId());
+                addDocument(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(IndexedDocument document) {
+        String[] terms = document.terms();
+        for (int i = 0; i < terms.length; i++) {
+            document.slots()[i] = postings.computeIfAbsent(terms[i], term -> new Postings())
+                    .add(document.itemId(), document.frequencies()[i], document.length(), i);
+        }
+
+        documents.put(document.itemId(), document);
+        totalLength += document.length();
+    }
+
+    private void removeDocument(long itemId) {
+        IndexedDocument document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+
+        String[] terms = document.terms();
+        for (int i = 0; i < terms.length; i++) {
+            Postings termPostings = postings.get(terms[i]);
+            int slot = document.slots()[i];
+            if (termPostings.removeAt(slot)) {
+                documents.get(termPostings.itemIdAt(slot)).slots()[termPostings.termIndexAt(slot)] = slot;
+            } else if (termPostings.size() == 0) {
+                postings.remove(terms[i]);
+            }
+        }
+
+        totalLength -= document.length();
+    }
+
+    private static void accumulate(ScoreAccumulator scores, Postings termPostings,
+                                   int documentCount, float averageLength) {
+        int documentFrequency = termPostings.size();
+        float idf = (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (int i = 0; i < documentFrequency; i++) {
+            int frequency = termPostings.frequencyAt(i);
+            float norm = K1 * (1 - B + B * termPostings.documentLengthAt(i) / averageLength);
+            scores.add(termPostings.itemIdAt(i), idf * frequency * (K1 + 1) / (frequency + norm));
+        }
+    }
+
+    private static List<Long> topItemIds(ScoreAccumulator scores, int limit) {
+        PriorityQueue<ScoredItem> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        for (int slot = 0; slot < scores.capacity(); slot++) {
+            if (!scores.isSet(slot)) {
+                continue;
+            }
+
+            float score = scores.valueAt(slot);
+            if (top.size() == limit && score < top.peek().score()) {
+                continue;
+            }
+
+            ScoredItem candidate = new ScoredItem(scores.keyAt(slot), score);
+            if (top.size() < limit) {
+                top.add(candidate);
+            } else if (BY_SCORE.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+
+        List<Long> itemIds = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            itemIds.add(top.poll().itemId());
+        }
+        Collections.reverse(itemIds);
+
+        return itemIds;
+    }
+
+    private record ScoredItem(long itemId, float score) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.devminds.rentify.service.search;
+
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.event.ItemChangedEvent;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.repository.ItemSearchProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps {@link ItemSearchIndex} in sync with the item table: a full rebuild after startup,
+ * split into id ranges that are loaded and tokenized in parallel, then incremental updates
+ * from {@link ItemChangedEvent}s once the writing transaction has committed.
+ * <p>
+ * The rebuild writes into the live index while changes keep arriving, so a batch read before
+ * an edit or a removal can land after it. The latest change of every item seen during the
+ * rebuild is therefore kept and applied again once the last batch is in.
+ */
+@Component
+public class ItemSearchIndexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemSearchIndexer.class);
+
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRepository itemRepository;
+    private final Object changeLock = new Object();
+    private Map<Long, ItemChangedEvent> changesDuringRebuild;
+
+    @Value("${application.search.rebuild-threads}")
+    private int rebuildThreads;
+
+    @Value("${application.search.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    public ItemSearchIndexer(ItemSearchIndex itemSearchIndex, ItemRepository itemRepository) {
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuildThread = new Thread(this::rebuild, "item-search-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    public void rebuild() {
+        Long maxId = itemRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        synchronized (changeLock) {
+            changesDuringRebuild = new HashMap<>();
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long rangeSize = maxId / rebuildThreads + 1;
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            List<Future<?>> ranges = new ArrayList<>();
+            for (int i = 0; i < rebuildThreads; i++) {
+                long afterId = i * rangeSize;
+                long toId = Math.min(maxId, afterId + rangeSize);
+                ranges.add(executor.submit(() -> indexRange(afterId, toId)));
+            }
+
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+
+            LOGGER.info("Item search index rebuilt with {} items in {} ms",
+                    itemSearchIndex.size(), System.currentTimeMillis() - startedAt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.error("Item search index rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            replayChangesDuringRebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        synchronized (changeLock) {
+            apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(event.item().getId(), event);
+            }
+        }
+    }
+
+    private void replayChangesDuringRebuild() {
+        synchronized (changeLock) {
+            Map<Long, ItemChangedEvent> changes = changesDuringRebuild;
+            changesDuringRebuild = null;
+            changes.values().forEach(this::apply);
+        }
+    }
+
+    private void apply(ItemChangedEvent event) {
+        Item item = event.item();
+        if (event.removed()) {
+            itemSearchIndex.remove(item.getId());
+            return;
+        }
+
+        String categoryName = item.getCategory() != null ? item.getCategory().getName() : null;
+        itemSearchIndex.index(item.getId(), item.getName(), item.getDescription(), categoryName);
+    }
+
+    private void indexRange(long afterId, long toId) {
+        long cursor = afterId;
+        List<ItemSearchProjection> batch;
+        do {
+            batch = itemRepository.findSearchProjections(cursor, toId, Limit.of(rebuildBatchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            itemSearchIndex.indexAll(batch.stream()
+                    .map(item -> IndexedDocument.of(item.getId(), item.getName(),
+                            item.getDescription(), item.getCategoryName()))
+                    .toList());
+            cursor = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == rebuildBatchSize);
+    }
+}
@@ -0,0 +1,75 @@
+package com.devminds.rentify.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of a single term kept in parallel primitive arrays. Entries are appended in
+ * arrival order; removal swaps the last entry into the freed slot. Each entry also keeps the
+ * position of the term among its document's terms, so that the index can record where every
+ * entry sits in {@link IndexedDocument#slots()} and remove an entry without searching for it.
+ */
+final class Postings {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] itemIds = new long[INITIAL_CAPACITY];
+    private int[] frequencies = new int[INITIAL_CAPACITY];
+    private int[] documentLengths = new int[INITIAL_CAPACITY];
+    private int[] termIndexes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Appends an entry and returns the slot it was stored in.
+     */
+    int add(long itemId, int frequency, int documentLength, int termIndex) {
+        if (size == itemIds.length) {
+            int capacity = size + (size >> 1) + 1;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+            documentLengths = Arrays.copyOf(documentLengths, capacity);
+            termIndexes = Arrays.copyOf(termIndexes, capacity);
+        }
+
+        itemIds[size] = itemId;
+        frequencies[size] = frequency;
+        documentLengths[size] = documentLength;
+        termIndexes[size] = termIndex;
+        return size++;
+    }
+
+    /**
+     * Removes the entry in {@code slot} and returns {@code true} when the last entry was moved
+     * into it, in which case the caller has to record the moved entry's new slot.
+     */
+    boolean removeAt(int slot) {
+        size--;
+        if (slot == size) {
+            return false;
+        }
+
+        itemIds[slot] = itemIds[size];
+        frequencies[slot] = frequencies[size];
+        documentLengths[slot] = documentLengths[size];
+        termIndexes[slot] = termIndexes[size];
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long itemIdAt(int index) {
+        return itemIds[index];
+    }
+
+    int frequencyAt(int index) {
+        return frequencies[index];
+    }
+
+    int documentLengthAt(int index) {
+        return documentLengths[index];
+    }
+
+    int termIndexAt(int index) {
+        return termIndexes[index];
+    }
+}
@@ -0,0 +1,76 @@
+package com.devminds.rentify.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing {@code long -> float} map used to sum BM25 contributions per item without
+ * boxing every candidate.
+ */
+final class ScoreAccumulator {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private float[] values;
+    private int size;
+
+    ScoreAccumulator(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void add(long key, float value) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+            values[slot] = value;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        } else {
+            values[slot] += value;
+        }
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    boolean isSet(int slot) {
+        return keys[slot] != EMPTY;
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    float valueAt(int slot) {
+        return values[slot];
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new float[oldValues.length << 1];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,76 @@
+package com.devminds.rentify.service.trending;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch over long keys with conservative update. Memory is fixed at
+ * {@code depth * width} ints regardless of how many keys are counted; estimates never
+ * undercount and overcount by at most {@code e / width} of the total with probability
+ * {@code 1 - e^-depth}. Not thread-safe.
+ */
+final class CountMinSketch {
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final int[] counts;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length);
+        }
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two");
+        }
+
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counts = new int[depth * width];
+    }
+
+    /**
+     * Adds {@code count} to the key and returns its new estimate. Only the rows holding the
+     * current minimum are raised, which keeps collisions from inflating other keys.
+     */
+    int add(long key, int count) {
+        int[] cells = new int[depth];
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            cells[row] = cell(row, key);
+            estimate = Math.min(estimate, counts[cells[row]]);
+        }
+
+        int updated = estimate + count;
+        for (int cell : cells) {
+            if (counts[cell] < updated) {
+                counts[cell] = updated;
+            }
+        }
+
+        return updated;
+    }
+
+    int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[cell(row, key)]);
+        }
+
+        return estimate;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    private int cell(int row, long key) {
+        long hash = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return (mask + 1) * row + ((int) hash & mask);
+    }
+}
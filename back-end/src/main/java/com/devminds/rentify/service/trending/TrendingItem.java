@@ -0,0 +1,7 @@
+package com.devminds.rentify.service.trending;
+
+/**
+ * An item and its estimated views within the trending window.
+ */
+public record TrendingItem(long itemId, long views) {
+}
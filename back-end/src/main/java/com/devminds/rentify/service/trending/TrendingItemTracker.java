@@ -0,0 +1,129 @@
+package com.devminds.rentify.service.trending;
+
+import com.devminds.rentify.service.view.ViewEvent;
+import com.devminds.rentify.service.view.ViewEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the most viewed items over the last {@code window-minutes}, globally and per
+ * category, from the live view stream. Each window has a fixed footprint, and there is one per
+ * category, so memory does not grow with the number of items or views. Counts start empty
+ * after a restart and fill up again within one window length.
+ * <p>
+ * Request threads only enqueue their views; a single updater thread adds them to the windows,
+ * so the global window's lock is never contended by concurrent views, only briefly by reads.
+ * When the queue is full, views are left out of the counts.
+ */
+@Component
+public class TrendingItemTracker implements ViewEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrendingItemTracker.class);
+
+    private final Map<Long, TrendingWindow> windowsByCategory = new ConcurrentHashMap<>();
+    private final TrendingWindow globalWindow;
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int sketchDepth;
+    private final int sketchWidth;
+    private final int topK;
+    private final BlockingQueue<ViewEvent> queue;
+    private final Counter droppedCounter;
+    private final Thread updater;
+
+    public TrendingItemTracker(@Value("${application.trending.window-minutes}") int windowMinutes,
+                               @Value("${application.trending.bucket-minutes}") int bucketMinutes,
+                               @Value("${application.trending.sketch-depth}") int sketchDepth,
+                               @Value("${application.trending.sketch-width}") int sketchWidth,
+                               @Value("${application.trending.top-k}") int topK,
+                               @Value("${application.trending.queue-capacity}") int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        this.bucketCount = Math.max(1, windowMinutes / bucketMinutes);
+        this.bucketMillis = Duration.ofMinutes(bucketMinutes).toMillis();
+        this.sketchDepth = sketchDepth;
+        this.sketchWidth = sketchWidth;
+        this.topK = topK;
+        this.globalWindow = newWindow();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.droppedCounter = meterRegistry.counter("rentify.trending.views.dropped");
+        meterRegistry.gauge("rentify.trending.queue.size", queue, BlockingQueue::size);
+        this.updater = new Thread(this::runUpdater, "trending-updater");
+        this.updater.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        updater.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        updater.interrupt();
+    }
+
+    @Override
+    public void onView(ViewEvent event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void runUpdater() {
+        List<ViewEvent> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            queue.drainTo(batch);
+            try {
+                batch.forEach(this::add);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to add {} views to the trending windows", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void add(ViewEvent event) {
+        long timestamp = event.viewedAt().toEpochMilli();
+        globalWindow.add(event.itemId(), timestamp);
+        if (event.categoryId() != null) {
+            windowsByCategory.computeIfAbsent(event.categoryId(), categoryId -> newWindow())
+                    .add(event.itemId(), timestamp);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} trending items, most viewed first, across all categories when
+     * {@code categoryId} is {@code null}.
+     */
+    public List<TrendingItem> getTrending(Long categoryId, int limit) {
+        TrendingWindow window = categoryId == null ? globalWindow : windowsByCategory.get(categoryId);
+        if (window == null) {
+            return List.of();
+        }
+
+        return window.top(Math.min(limit, topK), System.currentTimeMillis());
+    }
+
+    private TrendingWindow newWindow() {
+        return new TrendingWindow(bucketCount, bucketMillis, sketchDepth, sketchWidth, topK, System.currentTimeMillis());
+    }
+}
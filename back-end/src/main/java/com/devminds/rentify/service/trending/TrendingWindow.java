@@ -0,0 +1,111 @@
+package com.devminds.rentify.service.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sliding window of view counts made of one {@link CountMinSketch} per time bucket, plus a
+ * min-heap of the {@code capacity} items with the highest windowed estimate. When the window
+ * slides, the expired bucket is cleared and the heap is re-scored so items whose views aged
+ * out drop away. Memory is fixed by the sketch dimensions, bucket count and capacity.
+ * Views are added by a single updater thread, so the lock is only shared with readers.
+ */
+final class TrendingWindow {
+    private static final Comparator<Candidate> BY_VIEWS =
+            Comparator.comparingLong(Candidate::views).thenComparingLong(Candidate::itemId);
+
+    private final CountMinSketch[] buckets;
+    private final long bucketMillis;
+    private final int capacity;
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(BY_VIEWS);
+    private long currentEpoch;
+
+    TrendingWindow(int bucketCount, long bucketMillis, int sketchDepth, int sketchWidth, int capacity, long now) {
+        this.buckets = new CountMinSketch[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(sketchDepth, sketchWidth);
+        }
+        this.bucketMillis = bucketMillis;
+        this.capacity = capacity;
+        this.currentEpoch = now / bucketMillis;
+    }
+
+    synchronized void add(long itemId, long timestamp) {
+        long epoch = timestamp / bucketMillis;
+        slide(Math.max(epoch, currentEpoch));
+        if (epoch <= currentEpoch - buckets.length) {
+            return;
+        }
+
+        buckets[(int) Math.floorMod(epoch, (long) buckets.length)].add(itemId, 1);
+        offer(itemId, estimate(itemId));
+    }
+
+    synchronized List<TrendingItem> top(int limit, long now) {
+        slide(Math.max(now / bucketMillis, currentEpoch));
+        List<Candidate> sorted = new ArrayList<>(heap);
+        sorted.sort(BY_VIEWS.reversed());
+
+        List<TrendingItem> top = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = 0; i < sorted.size() && i < limit; i++) {
+            top.add(new TrendingItem(sorted.get(i).itemId(), sorted.get(i).views()));
+        }
+
+        return top;
+    }
+
+    private void slide(long epoch) {
+        if (epoch == currentEpoch) {
+            return;
+        }
+
+        long expired = Math.min(epoch - currentEpoch, buckets.length);
+        for (long i = 1; i <= expired; i++) {
+            buckets[(int) Math.floorMod(currentEpoch + i, (long) buckets.length)].clear();
+        }
+        currentEpoch = epoch;
+
+        List<Long> itemIds = new ArrayList<>(candidates.keySet());
+        candidates.clear();
+        heap.clear();
+        for (long itemId : itemIds) {
+            long views = estimate(itemId);
+            if (views > 0) {
+                offer(itemId, views);
+            }
+        }
+    }
+
+    private long estimate(long itemId) {
+        long views = 0;
+        for (CountMinSketch bucket : buckets) {
+            views += bucket.estimate(itemId);
+        }
+
+        return views;
+    }
+
+    private void offer(long itemId, long views) {
+        Candidate previous = candidates.remove(itemId);
+        if (previous != null) {
+            heap.remove(previous);
+        } else if (candidates.size() == capacity) {
+            if (BY_VIEWS.compare(heap.peek(), new Candidate(itemId, views)) >= 0) {
+                return;
+            }
+            candidates.remove(heap.poll().itemId());
+        }
+
+        Candidate candidate = new Candidate(itemId, views);
+        candidates.put(itemId, candidate);
+        heap.add(candidate);
+    }
+
+    private record Candidate(long itemId, long views) {
+    }
+}
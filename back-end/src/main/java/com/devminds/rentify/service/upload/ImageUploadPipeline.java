@@ -0,0 +1,189 @@
+package com.devminds.rentify.service.upload;
+
+import com.devminds.rentify.dto.ImageUploadResultDto;
+import com.devminds.rentify.exception.UploadCapacityExceededException;
+import com.devminds.rentify.service.StorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Uploads the images of one request in parallel on a dedicated pool. Each request runs at
+ * most {@code per-request-concurrency} workers that take the next file until none is left,
+ * so one large listing cannot occupy the whole pool. A failed file is reported in its slot
+ * of the result without stopping the others, and the results keep the order of the input.
+ */
+@Component
+public class ImageUploadPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageUploadPipeline.class);
+    private static final String OVERLOADED_MESSAGE = "Image uploads are temporarily overloaded, please retry";
+    private static final String CANCELLED_MESSAGE = "Upload was cancelled.";
+    private static final String FAILED_MESSAGE = "Upload failed.";
+
+    private final StorageService storageService;
+    private final ThreadPoolExecutor executor;
+    private final Timer uploadTimer;
+    private final Counter failedCounter;
+    private final Counter cancelledCounter;
+    private final Counter rejectedCounter;
+
+    @Value("${application.storage.upload.per-request-concurrency}")
+    private int perRequestConcurrency;
+
+    public ImageUploadPipeline(StorageService storageService,
+                               @Value("${application.storage.upload.threads}") int threads,
+                               @Value("${application.storage.upload.queue-capacity}") int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "image-upload-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.uploadTimer = meterRegistry.timer("rentify.images.upload");
+        this.failedCounter = meterRegistry.counter("rentify.images.upload.failed");
+        this.cancelledCounter = meterRegistry.counter("rentify.images.upload.cancelled");
+        this.rejectedCounter = meterRegistry.counter("rentify.images.upload.rejected");
+        meterRegistry.gauge("rentify.images.upload.queue.size", queue, BlockingQueue::size);
+        meterRegistry.gauge("rentify.images.upload.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Starts uploading {@code files} and hands the results to {@code onComplete} from a pool
+     * thread once every file has been uploaded, has failed or was cancelled. Throws
+     * {@link UploadCapacityExceededException} when the pool cannot take a single worker.
+     */
+    public UploadBatch start(List<MultipartFile> files, Consumer<List<ImageUploadResultDto>> onComplete) {
+        UploadBatch batch = new UploadBatch(files, onComplete);
+        int workers = Math.min(perRequestConcurrency, files.size());
+        if (workers == 0) {
+            onComplete.accept(List.of());
+            return batch;
+        }
+
+        batch.activeWorkers.set(workers);
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(batch::work);
+            } catch (RejectedExecutionException e) {
+                rejectedCounter.increment();
+                if (i == 0) {
+                    throw new UploadCapacityExceededException(OVERLOADED_MESSAGE, e);
+                }
+                // Run with the workers that were accepted rather than failing the request.
+                batch.workerFinished(workers - i);
+                break;
+            }
+        }
+        return batch;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class UploadBatch {
+        private final List<MultipartFile> files;
+        private final ImageUploadResultDto[] results;
+        private final Consumer<List<ImageUploadResultDto>> onComplete;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private final Set<Thread> workerThreads = new HashSet<>();
+        private volatile boolean cancelled;
+
+        private UploadBatch(List<MultipartFile> files, Consumer<List<ImageUploadResultDto>> onComplete) {
+            this.files = files;
+            this.results = new ImageUploadResultDto[files.size()];
+            this.onComplete = onComplete;
+        }
+
+        /**
+         * Stops taking new files and interrupts the uploads in flight, for example when the
+         * client has gone away. Files that never finished are reported as cancelled.
+         */
+        public void cancel() {
+            cancelled = true;
+            synchronized (workerThreads) {
+                workerThreads.forEach(Thread::interrupt);
+            }
+        }
+
+        /**
+         * Runs on a pool thread. The thread is registered only while it works for this batch
+         * and its interrupt flag is cleared on the way out, so a late cancel never leaks into
+         * the next batch the thread picks up.
+         */
+        private void work() {
+            synchronized (workerThreads) {
+                workerThreads.add(Thread.currentThread());
+            }
+            try {
+                int index;
+                while (!cancelled && (index = nextIndex.getAndIncrement()) < files.size()) {
+                    results[index] = upload(files.get(index));
+                }
+            } finally {
+                synchronized (workerThreads) {
+                    workerThreads.remove(Thread.currentThread());
+                }
+                Thread.interrupted();
+                workerFinished(1);
+            }
+        }
+
+        private ImageUploadResultDto upload(MultipartFile file) {
+            long start = System.nanoTime();
+            try {
+                return new ImageUploadResultDto(file.getOriginalFilename(), storageService.uploadFile(file), null);
+            } catch (Exception e) {
+                if (cancelled) {
+                    return cancelledResult(file);
+                }
+                failedCounter.increment();
+                LOGGER.warn("Upload of {} failed", file.getOriginalFilename(), e);
+                return new ImageUploadResultDto(file.getOriginalFilename(), null, FAILED_MESSAGE);
+            } finally {
+                uploadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void workerFinished(int count) {
+            if (activeWorkers.addAndGet(-count) != 0) {
+                return;
+            }
+
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = cancelledResult(files.get(i));
+                }
+            }
+            onComplete.accept(Arrays.asList(results));
+        }
+
+        private ImageUploadResultDto cancelledResult(MultipartFile file) {
+            cancelledCounter.increment();
+            return new ImageUploadResultDto(file.getOriginalFilename(), null, CANCELLED_MESSAGE);
+        }
+    }
+}
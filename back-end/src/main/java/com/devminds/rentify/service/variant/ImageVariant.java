@@ -0,0 +1,45 @@
+package com.devminds.rentify.service.variant;
+
+import com.devminds.rentify.exception.InvalidImageVariantException;
+
+import java.util.Arrays;
+
+/**
+ * Renditions generated for every uploaded image, each bounded by {@code maxDimension} on its
+ * longer edge and stored next to the original under a derived key.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 160),
+    CARD("card", 480),
+    DETAIL("detail", 1280);
+
+    private static final String INVALID_VARIANT_MESSAGE = "Unknown image variant %s.";
+    private static final String KEY_SUFFIX = ".jpg";
+
+    private final String name;
+    private final int maxDimension;
+
+    ImageVariant(String name, int maxDimension) {
+        this.name = name;
+        this.maxDimension = maxDimension;
+    }
+
+    public static ImageVariant fromName(String name) {
+        return Arrays.stream(values())
+                .filter(variant -> variant.name.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidImageVariantException(String.format(INVALID_VARIANT_MESSAGE, name)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String keyFor(String storageKey) {
+        return storageKey + "-" + name + KEY_SUFFIX;
+    }
+}
@@ -0,0 +1,212 @@
+package com.devminds.rentify.service.variant;
+
+import com.amazonaws.services.s3.model.S3Object;
+import com.devminds.rentify.event.ImageUploadedEvent;
+import com.devminds.rentify.service.StorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces the {@link ImageVariant} renditions of every uploaded image on a small bounded
+ * pool, off the upload request. The original is read back from storage, decoded once and
+ * scaled down for each variant, then each rendition is stored as a JPEG under the key
+ * derived from the original's, which is how downloads find it. Decoded images are large, so
+ * the pool size bounds the memory spent here and images above {@code max-pixels} are never
+ * decoded; when the queue is full the renditions are skipped and downloads fall back to the
+ * original.
+ */
+@Component
+public class ImageVariantPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageVariantPipeline.class);
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    private static final String VARIANT_FORMAT = "jpeg";
+    private static final List<ImageVariant> LARGEST_FIRST = Arrays.stream(ImageVariant.values())
+            .sorted(Comparator.comparingInt(ImageVariant::getMaxDimension).reversed())
+            .toList();
+
+    private final StorageService storageService;
+    private final ThreadPoolExecutor executor;
+    private final Timer processTimer;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter oversizedCounter;
+
+    @Value("${application.storage.variants.jpeg-quality}")
+    private float jpegQuality;
+
+    @Value("${application.storage.variants.max-pixels}")
+    private long maxPixels;
+
+    public ImageVariantPipeline(StorageService storageService,
+                                @Value("${application.storage.variants.threads}") int threads,
+                                @Value("${application.storage.variants.queue-capacity}") int queueCapacity,
+                                MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.processTimer = meterRegistry.timer("rentify.images.variants");
+        this.failedCounter = meterRegistry.counter("rentify.images.variants.failed");
+        this.rejectedCounter = meterRegistry.counter("rentify.images.variants.rejected");
+        this.oversizedCounter = meterRegistry.counter("rentify.images.variants.oversized");
+        meterRegistry.gauge("rentify.images.variants.queue.size", queue, BlockingQueue::size);
+    }
+
+    @EventListener
+    public void onImageUploaded(ImageUploadedEvent event) {
+        try {
+            executor.execute(() -> processTimer.record(() -> process(event)));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            LOGGER.warn("Skipping renditions of {}, the variant queue is full", event.storageKey());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(ImageUploadedEvent event) {
+        try {
+            BufferedImage original = read(event.storageKey());
+            if (original == null) {
+                return;
+            }
+
+            // Each rendition is scaled from the next larger one, which is far cheaper than
+            // scaling every one of them from the full-size original.
+            BufferedImage source = original;
+            for (ImageVariant variant : LARGEST_FIRST) {
+                source = resize(source, variant.getMaxDimension());
+                byte[] rendition = encode(source);
+                storageService.storeFile(variant.keyFor(event.storageKey()), new ByteArrayInputStream(rendition),
+                        rendition.length, VARIANT_CONTENT_TYPE);
+            }
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            LOGGER.warn("Cannot produce renditions of {}", event.storageKey(), e);
+        }
+    }
+
+    /**
+     * Decodes the stored original, or returns {@code null} when it is not a readable image
+     * or has more than {@code max-pixels} pixels. The dimensions come from the image header,
+     * so an oversized image is turned away before its raster is allocated.
+     */
+    private BufferedImage read(String storageKey) throws IOException {
+        try (S3Object object = storageService.downloadFile(storageKey, null, null, null);
+             InputStream content = object.getObjectContent();
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                LOGGER.info("No renditions for {}, it is not a readable image", storageKey);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    oversizedCounter.increment();
+                    object.getObjectContent().abort();
+                    LOGGER.info("No renditions for {}, its {} pixels exceed the limit of {}",
+                            storageKey, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image so that its longer edge is at most {@code maxDimension}, halving the
+     * size in steps first so that bilinear filtering still averages every source pixel.
+     * Smaller images are only re-encoded, never enlarged.
+     */
+    private BufferedImage resize(BufferedImage original, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(original.getWidth(), original.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(original.getHeight() * scale));
+
+        BufferedImage current = original;
+        int width = original.getWidth();
+        int height = original.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        // JPEG has no alpha channel, so every step draws onto an opaque RGB canvas.
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(VARIANT_FORMAT).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
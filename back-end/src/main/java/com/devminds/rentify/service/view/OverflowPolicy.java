@@ -0,0 +1,8 @@
+package com.devminds.rentify.service.view;
+
+/**
+ * What {@link ViewRecorder} does with a view event when its queue is full.
+ */
+public enum OverflowPolicy {
+    DROP_NEWEST, DROP_OLDEST
+}
@@ -0,0 +1,145 @@
+package com.devminds.rentify.service.view;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL behind the persisted {@link HyperLogLog} sketches: one all-time sketch per item and one
+ * per item per day. Writers lock the rows they merge into, so concurrent flushes from several
+ * instances never lose each other's registers.
+ */
+@Component
+public class UniqueViewerStore {
+    private static final String LOCK_TOTALS_SQL =
+            "SELECT item_id, registers FROM item_unique_viewers WHERE item_id IN (:itemIds) FOR UPDATE";
+
+    private static final String LOCK_DAILY_SQL = """
+            SELECT item_id, registers FROM item_unique_viewers_daily
+            WHERE day = :day AND item_id IN (:itemIds) FOR UPDATE""";
+
+    private static final String UPSERT_TOTAL_SQL = """
+            INSERT INTO item_unique_viewers (item_id, registers) VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE registers = VALUES(registers)""";
+
+    private static final String UPSERT_DAILY_SQL = """
+            INSERT INTO item_unique_viewers_daily (item_id, day, registers) VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE registers = VALUES(registers)""";
+
+    private static final String ITEM_TOTAL_SQL =
+            "SELECT registers FROM item_unique_viewers WHERE item_id = ?";
+
+    private static final String ITEM_DAILY_SQL = """
+            SELECT registers FROM item_unique_viewers_daily
+            WHERE item_id = ? AND day >= ? AND day <= ?""";
+
+    private static final String OWNER_TOTAL_SQL = """
+            SELECT u.registers FROM item_unique_viewers u JOIN item i ON i.id = u.item_id
+            WHERE i.user_id = ?""";
+
+    private static final String OWNER_DAILY_SQL = """
+            SELECT u.registers FROM item_unique_viewers_daily u JOIN item i ON i.id = u.item_id
+            WHERE i.user_id = ? AND u.day >= ? AND u.day <= ?""";
+
+    private static final String BACKFILL_CURSOR_NAME = "unique_viewers_backfill";
+
+    private static final String BACKFILL_END_NAME = "unique_viewers_backfill_end";
+
+    private static final String LOCK_CHECKPOINT_SQL =
+            "SELECT last_history_id FROM view_rollup_checkpoint WHERE name = ? FOR UPDATE";
+
+    private static final String CHECKPOINT_SQL =
+            "SELECT last_history_id FROM view_rollup_checkpoint WHERE name = ?";
+
+    private static final String UPDATE_CHECKPOINT_SQL =
+            "UPDATE view_rollup_checkpoint SET last_history_id = ? WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public UniqueViewerStore(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Merges the given sketches into the stored all-time sketches. Must run in a transaction.
+     */
+    void mergeTotals(Map<Long, HyperLogLog> sketches) {
+        Map<Long, HyperLogLog> merged = lockAndMerge(LOCK_TOTALS_SQL,
+                new MapSqlParameterSource("itemIds", sketches.keySet()), sketches);
+        List<Object[]> rows = new ArrayList<>(merged.size());
+        merged.forEach((itemId, sketch) -> rows.add(new Object[]{itemId, sketch.toBytes()}));
+        jdbcTemplate.batchUpdate(UPSERT_TOTAL_SQL, rows);
+    }
+
+    /**
+     * Merges the given sketches into the stored sketches of {@code day}. Must run in a transaction.
+     */
+    void mergeDaily(LocalDate day, Map<Long, HyperLogLog> sketches) {
+        Map<Long, HyperLogLog> merged = lockAndMerge(LOCK_DAILY_SQL,
+                new MapSqlParameterSource("itemIds", sketches.keySet()).addValue("day", Date.valueOf(day)), sketches);
+        List<Object[]> rows = new ArrayList<>(merged.size());
+        merged.forEach((itemId, sketch) -> rows.add(new Object[]{itemId, Date.valueOf(day), sketch.toBytes()}));
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, rows);
+    }
+
+    /**
+     * Returns the last history id the backfill replays. Views after it were recorded while the
+     * sketches were already kept up to date.
+     */
+    long getBackfillEnd() {
+        Long end = jdbcTemplate.queryForObject(CHECKPOINT_SQL, Long.class, BACKFILL_END_NAME);
+        return end != null ? end : 0;
+    }
+
+    /**
+     * Locks the backfill cursor for the rest of the transaction, so instances starting
+     * together replay each batch once instead of racing over it.
+     */
+    long lockBackfillCursor() {
+        Long cursor = jdbcTemplate.queryForObject(LOCK_CHECKPOINT_SQL, Long.class, BACKFILL_CURSOR_NAME);
+        return cursor != null ? cursor : 0;
+    }
+
+    void updateBackfillCursor(long lastHistoryId) {
+        jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, lastHistoryId, BACKFILL_CURSOR_NAME);
+    }
+
+    public long getItemUniqueViewers(Long itemId, LocalDate from, LocalDate to) {
+        return from == null
+                ? mergeRows(ITEM_TOTAL_SQL, itemId).estimate()
+                : mergeRows(ITEM_DAILY_SQL, itemId, Date.valueOf(from), Date.valueOf(to)).estimate();
+    }
+
+    public long getOwnerUniqueViewers(Long ownerId, LocalDate from, LocalDate to) {
+        return from == null
+                ? mergeRows(OWNER_TOTAL_SQL, ownerId).estimate()
+                : mergeRows(OWNER_DAILY_SQL, ownerId, Date.valueOf(from), Date.valueOf(to)).estimate();
+    }
+
+    private Map<Long, HyperLogLog> lockAndMerge(String lockSql, MapSqlParameterSource parameters,
+                                                Map<Long, HyperLogLog> sketches) {
+        Map<Long, HyperLogLog> merged = new HashMap<>(sketches.size());
+        sketches.forEach((itemId, sketch) -> merged.put(itemId, HyperLogLog.fromBytes(sketch.toBytes())));
+        namedParameterJdbcTemplate.query(lockSql, parameters, (RowCallbackHandler) resultSet ->
+                merged.get(resultSet.getLong("item_id")).merge(HyperLogLog.fromBytes(resultSet.getBytes("registers"))));
+        return merged;
+    }
+
+    private HyperLogLog mergeRows(String sql, Object... parameters) {
+        HyperLogLog merged = new HyperLogLog();
+        jdbcTemplate.query(sql, (RowCallbackHandler) resultSet ->
+                merged.merge(HyperLogLog.fromBytes(resultSet.getBytes("registers"))), parameters);
+        return merged;
+    }
+}
@@ -0,0 +1,174 @@
+package com.devminds.rentify.service.view;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Folds signed-in viewers into per-item {@link HyperLogLog} sketches as views arrive and
+ * periodically merges the dirty sketches into {@link UniqueViewerStore}. Anonymous views carry
+ * no identity and are not counted. Since merging is idempotent, a failed flush is simply put
+ * back and retried, and replaying history into the sketches never double counts. History from
+ * before the sketches existed is replayed once by {@link #backfill()}.
+ */
+@Component
+public class UniqueViewerTracker implements ViewEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UniqueViewerTracker.class);
+    private static final String HISTORY_BATCH_SQL = """
+            SELECT id, item_id, user_id, date FROM history
+            WHERE id > ? AND id <= ? AND item_id IS NOT NULL AND user_id IS NOT NULL AND date IS NOT NULL
+            ORDER BY id LIMIT ?""";
+
+    private final Map<DailyKey, HyperLogLog> dirtySketches = new ConcurrentHashMap<>();
+    private final UniqueViewerStore uniqueViewerStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.views.unique.backfill-batch-size}")
+    private int backfillBatchSize;
+
+    public UniqueViewerTracker(UniqueViewerStore uniqueViewerStore, JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate) {
+        this.uniqueViewerStore = uniqueViewerStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void onView(ViewEvent event) {
+        if (event.userId() != null) {
+            add(new DailyKey(event.itemId(), LocalDate.ofInstant(event.viewedAt(), ZoneId.systemDefault())),
+                    event.userId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread backfillThread = new Thread(this::backfill, "unique-viewer-backfill");
+        backfillThread.setDaemon(true);
+        backfillThread.start();
+    }
+
+    /**
+     * Replays the history recorded before the sketches were kept up to date, one batch per
+     * transaction. Each batch is merged into the store in the same transaction that advances
+     * the backfill cursor, so a restart resumes after the last committed batch and never skips
+     * one. Replaying a view that was also counted live is harmless since merging is idempotent.
+     */
+    public void backfill() {
+        long end = uniqueViewerStore.getBackfillEnd();
+        int backfilled = 0;
+        int batchSize;
+        try {
+            do {
+                batchSize = transactionTemplate.execute(status -> backfillBatch(end));
+                backfilled += batchSize;
+            } while (batchSize == backfillBatchSize);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Unique viewer backfill stopped after {} views, resuming on the next start", backfilled, e);
+            return;
+        }
+
+        if (backfilled > 0) {
+            LOGGER.info("Unique viewer sketches backfilled from {} views", backfilled);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.views.unique.flush-interval-ms}")
+    public void flush() {
+        Map<DailyKey, HyperLogLog> pending = new HashMap<>();
+        for (DailyKey key : dirtySketches.keySet()) {
+            HyperLogLog sketch = dirtySketches.remove(key);
+            if (sketch != null) {
+                pending.put(key, sketch);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> store(pending));
+        } catch (DataAccessException e) {
+            LOGGER.warn("Failed to flush {} unique viewer sketches, retrying on the next run", pending.size(), e);
+            pending.forEach((key, sketch) -> dirtySketches.merge(key, sketch, HyperLogLog::merge));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    private int backfillBatch(long end) {
+        long cursor = uniqueViewerStore.lockBackfillCursor();
+        if (cursor >= end) {
+            return 0;
+        }
+
+        Map<DailyKey, HyperLogLog> sketches = new HashMap<>();
+        long[] lastId = {cursor};
+        int batchSize = jdbcTemplate.query(HISTORY_BATCH_SQL, (resultSet, rowNum) -> {
+            lastId[0] = resultSet.getLong("id");
+            Timestamp date = resultSet.getTimestamp("date");
+            add(sketches, new DailyKey(resultSet.getLong("item_id"), date.toLocalDateTime().toLocalDate()),
+                    resultSet.getLong("user_id"));
+            return null;
+        }, cursor, end, backfillBatchSize).size();
+
+        // Rows without an item, user or date are skipped by the query, so a short batch means
+        // the rest of the range holds nothing to count and the cursor can jump to its end.
+        store(sketches);
+        uniqueViewerStore.updateBackfillCursor(batchSize == backfillBatchSize ? lastId[0] : end);
+        return batchSize;
+    }
+
+    /**
+     * Merges the sketches into the stored daily and all-time sketches. Must run in a transaction.
+     */
+    private void store(Map<DailyKey, HyperLogLog> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+
+        Map<LocalDate, Map<Long, HyperLogLog>> byDay = new HashMap<>();
+        Map<Long, HyperLogLog> totals = new HashMap<>();
+        sketches.forEach((key, sketch) -> {
+            byDay.computeIfAbsent(key.day(), day -> new HashMap<>()).put(key.itemId(), sketch);
+            totals.merge(key.itemId(), HyperLogLog.fromBytes(sketch.toBytes()), HyperLogLog::merge);
+        });
+        uniqueViewerStore.mergeTotals(totals);
+        byDay.forEach(uniqueViewerStore::mergeDaily);
+    }
+
+    private void add(DailyKey key, long userId) {
+        add(dirtySketches, key, userId);
+    }
+
+    private static void add(Map<DailyKey, HyperLogLog> sketches, DailyKey key, long userId) {
+        sketches.compute(key, (ignored, sketch) -> {
+            HyperLogLog updated = sketch != null ? sketch : new HyperLogLog();
+            updated.add(userId);
+            return updated;
+        });
+    }
+
+    private record DailyKey(long itemId, LocalDate day) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.devminds.rentify.service.view;
+
+import java.time.Instant;
+
+/**
+ * A single item-detail view; {@code categoryId} is {@code null} for uncategorised items and
+ * {@code userId} is {@code null} for anonymous visitors.
+ */
+public record ViewEvent(long itemId, Long categoryId, Long userId, Instant viewedAt) {
+}
@@ -0,0 +1,9 @@
+package com.devminds.rentify.service.view;
+
+/**
+ * Consumer of the item view stream. Called on the request thread, so implementations must
+ * only hand the event off or update in-memory state.
+ */
+public interface ViewEventListener {
+    void onView(ViewEvent event);
+}
@@ -0,0 +1,18 @@
+package com.devminds.rentify.service.view;
+
+/**
+ * Bucket size of a view time series; each value maps to its own rollup table.
+ */
+public enum ViewGranularity {
+    HOURLY("item_view_hourly"), DAILY("item_view_daily");
+
+    private final String table;
+
+    ViewGranularity(String table) {
+        this.table = table;
+    }
+
+    String getTable() {
+        return table;
+    }
+}
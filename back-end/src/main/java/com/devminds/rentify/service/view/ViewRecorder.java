@@ -0,0 +1,148 @@
+package com.devminds.rentify.service.view;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for item views. Request threads only enqueue; a single flusher thread
+ * drains the queue into JDBC batch inserts whenever {@code batchSize} events are waiting or
+ * {@code flushIntervalMs} has passed. When the queue is full, events are dropped according to
+ * the configured {@link OverflowPolicy} instead of blocking the request. Whatever is still
+ * queued on shutdown is flushed before the data source closes.
+ */
+@Component
+public class ViewRecorder implements ViewEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ViewRecorder.class);
+    private static final String INSERT_VIEW_SQL = "INSERT INTO history (user_id, item_id, date) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ViewEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long shutdownTimeoutMs;
+    private final OverflowPolicy overflowPolicy;
+    private final Counter recordedCounter;
+    private final Counter droppedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public ViewRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                        @Value("${application.views.queue-capacity}") int queueCapacity,
+                        @Value("${application.views.batch-size}") int batchSize,
+                        @Value("${application.views.flush-interval-ms}") long flushIntervalMs,
+                        @Value("${application.views.shutdown-timeout-ms}") long shutdownTimeoutMs,
+                        @Value("${application.views.overflow-policy}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.overflowPolicy = overflowPolicy;
+        this.recordedCounter = meterRegistry.counter("rentify.views.recorded");
+        this.droppedCounter = meterRegistry.counter("rentify.views.dropped");
+        this.flushedCounter = meterRegistry.counter("rentify.views.flushed");
+        this.failedCounter = meterRegistry.counter("rentify.views.failed");
+        this.flushTimer = meterRegistry.timer("rentify.views.flush");
+        meterRegistry.gauge("rentify.views.queue.size", queue, BlockingQueue::size);
+        this.flusher = new Thread(this::runFlusher, "view-recorder-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(shutdownTimeoutMs);
+        if (flusher.isAlive()) {
+            LOGGER.warn("View recorder did not finish flushing within {} ms, {} views lost",
+                    shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    @Override
+    public void onView(ViewEvent event) {
+        recordedCounter.increment();
+        if (queue.offer(event)) {
+            return;
+        }
+
+        droppedCounter.increment();
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            queue.poll();
+            queue.offer(event);
+        }
+    }
+
+    private void runFlusher() {
+        List<ViewEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<ViewEvent> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            long remaining = running ? deadline - System.nanoTime() : 0;
+            ViewEvent event = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (event == null) {
+                return;
+            }
+
+            batch.add(event);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<ViewEvent> batch) {
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_VIEW_SQL, batch, batch.size(), (statement, event) -> {
+                if (event.userId() != null) {
+                    statement.setLong(1, event.userId());
+                } else {
+                    statement.setNull(1, Types.BIGINT);
+                }
+                statement.setLong(2, event.itemId());
+                statement.setTimestamp(3, Timestamp.from(event.viewedAt()));
+            }));
+            flushedCounter.increment(batch.size());
+        } catch (DataAccessException e) {
+            failedCounter.increment(batch.size());
+            LOGGER.error("Failed to flush {} item views", batch.size(), e);
+        }
+    }
+}
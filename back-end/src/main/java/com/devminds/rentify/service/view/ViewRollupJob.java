@@ -0,0 +1,63 @@
+package com.devminds.rentify.service.view;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Folds new history rows into the hourly, daily and total view rollups. Each batch of history
+ * ids is rolled up and the checkpoint advanced in one transaction, so a crash either keeps or
+ * discards the whole batch and the next run resumes from the last committed checkpoint.
+ * Every instance runs its own {@link ViewRecorder} flusher, so history ids are not committed
+ * in order: a row can become visible after rows with higher ids. Batches therefore only take
+ * rows recorded at least {@code rollup-safety-lag-seconds} ago, by which time every lower id
+ * has either committed or rolled back, and the checkpoint never skips a row in flight.
+ */
+@Component
+public class ViewRollupJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ViewRollupJob.class);
+
+    private final ViewRollupStore viewRollupStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.views.rollup-batch-size}")
+    private int rollupBatchSize;
+
+    @Value("${application.views.rollup-max-batches}")
+    private int rollupMaxBatches;
+
+    @Value("${application.views.rollup-safety-lag-seconds}")
+    private long rollupSafetyLagSeconds;
+
+    public ViewRollupJob(ViewRollupStore viewRollupStore, TransactionTemplate transactionTemplate) {
+        this.viewRollupStore = viewRollupStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${application.views.rollup-interval-ms}")
+    public void rollUp() {
+        int batches = 0;
+        while (batches < rollupMaxBatches && Boolean.TRUE.equals(transactionTemplate.execute(status -> rollUpBatch()))) {
+            batches++;
+        }
+
+        if (batches > 0) {
+            LOGGER.debug("Rolled up {} batches of item views", batches);
+        }
+    }
+
+    private boolean rollUpBatch() {
+        long checkpoint = viewRollupStore.lockCheckpoint();
+        Long batchEnd = viewRollupStore.findBatchEnd(checkpoint, rollupSafetyLagSeconds, rollupBatchSize);
+        if (batchEnd == null) {
+            return false;
+        }
+
+        viewRollupStore.rollUp(checkpoint, batchEnd);
+        viewRollupStore.updateCheckpoint(batchEnd);
+        return true;
+    }
+}
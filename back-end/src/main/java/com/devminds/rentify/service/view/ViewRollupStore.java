@@ -0,0 +1,159 @@
+package com.devminds.rentify.service.view;
+
+import com.devminds.rentify.dto.ViewCountDto;
+import com.devminds.rentify.dto.ViewSeriesPointDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SQL behind the view rollups. The hourly and daily statements recompute the buckets touched
+ * by a range of history ids and upsert them, which stays cheap because a bucket only spans
+ * an hour or a day of history. All-time totals only add the views of the range, since
+ * recounting an item's whole history on every batch grows without bound; the range is added
+ * in the same transaction that advances the checkpoint, so it is never added twice. Unique
+ * all-time viewers come from the {@link UniqueViewerStore} sketches instead. Reads only touch
+ * the rollup tables.
+ */
+@Component
+public class ViewRollupStore {
+    private static final String CHECKPOINT_NAME = "item_views";
+
+    private static final String LOCK_CHECKPOINT_SQL =
+            "SELECT last_history_id FROM view_rollup_checkpoint WHERE name = ? FOR UPDATE";
+
+    private static final String UPDATE_CHECKPOINT_SQL =
+            "UPDATE view_rollup_checkpoint SET last_history_id = ? WHERE name = ?";
+
+    private static final String BATCH_END_SQL = """
+            SELECT MAX(id) FROM (
+                SELECT id FROM history
+                WHERE id > ? AND recorded_at < CURRENT_TIMESTAMP(3) - INTERVAL ? SECOND
+                ORDER BY id LIMIT ?
+            ) AS batch""";
+
+    private static final String ROLL_UP_HOURLY_SQL = """
+            INSERT INTO item_view_hourly (item_id, bucket, views, unique_users)
+            SELECT * FROM (
+                SELECT h.item_id, t.bucket, COUNT(*) AS views, COUNT(DISTINCT h.user_id) AS unique_users
+                FROM (SELECT DISTINCT item_id, CAST(DATE_FORMAT(date, '%Y-%m-%d %H:00:00') AS DATETIME) AS bucket
+                      FROM history
+                      WHERE id > ? AND id <= ? AND item_id IS NOT NULL AND date IS NOT NULL) AS t
+                JOIN history h ON h.item_id = t.item_id
+                    AND h.date >= t.bucket AND h.date < t.bucket + INTERVAL 1 HOUR
+                WHERE h.id <= ?
+                GROUP BY h.item_id, t.bucket
+            ) AS r
+            ON DUPLICATE KEY UPDATE views = r.views, unique_users = r.unique_users""";
+
+    private static final String ROLL_UP_DAILY_SQL = """
+            INSERT INTO item_view_daily (item_id, bucket, views, unique_users)
+            SELECT * FROM (
+                SELECT h.item_id, t.bucket, COUNT(*) AS views, COUNT(DISTINCT h.user_id) AS unique_users
+                FROM (SELECT DISTINCT item_id, DATE(date) AS bucket
+                      FROM history
+                      WHERE id > ? AND id <= ? AND item_id IS NOT NULL AND date IS NOT NULL) AS t
+                JOIN history h ON h.item_id = t.item_id
+                    AND h.date >= t.bucket AND h.date < t.bucket + INTERVAL 1 DAY
+                WHERE h.id <= ?
+                GROUP BY h.item_id, t.bucket
+            ) AS r
+            ON DUPLICATE KEY UPDATE views = r.views, unique_users = r.unique_users""";
+
+    private static final String ROLL_UP_TOTAL_SQL = """
+            INSERT INTO item_view_total (item_id, views)
+            SELECT * FROM (
+                SELECT item_id, COUNT(*) AS views FROM history
+                WHERE id > ? AND id <= ? AND item_id IS NOT NULL
+                GROUP BY item_id
+            ) AS r
+            ON DUPLICATE KEY UPDATE views = item_view_total.views + r.views""";
+
+    private static final String ITEM_COUNT_SQL =
+            "SELECT views FROM item_view_total WHERE item_id = ?";
+
+    private static final String OWNER_COUNT_SQL = """
+            SELECT COALESCE(SUM(t.views), 0)
+            FROM item_view_total t JOIN item i ON i.id = t.item_id
+            WHERE i.user_id = ?""";
+
+    private static final String ITEM_SERIES_SQL = """
+            SELECT bucket, views, unique_users FROM %s
+            WHERE item_id = ? AND bucket >= ? AND bucket < ?
+            ORDER BY bucket""";
+
+    private static final String OWNER_SERIES_SQL = """
+            SELECT r.bucket, SUM(r.views) AS views, NULL AS unique_users
+            FROM %s r JOIN item i ON i.id = r.item_id
+            WHERE i.user_id = ? AND r.bucket >= ? AND r.bucket < ?
+            GROUP BY r.bucket
+            ORDER BY r.bucket""";
+
+    private static final RowMapper<ViewSeriesPointDto> SERIES_POINT_ROW_MAPPER = (resultSet, rowNum) ->
+            new ViewSeriesPointDto(resultSet.getTimestamp("bucket").toLocalDateTime(),
+                    resultSet.getLong("views"), resultSet.getObject("unique_users", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ViewRollupStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the checkpoint row for the rest of the transaction, so concurrent jobs on other
+     * instances wait instead of rolling up the same range.
+     */
+    long lockCheckpoint() {
+        Long checkpoint = jdbcTemplate.queryForObject(LOCK_CHECKPOINT_SQL, Long.class, CHECKPOINT_NAME);
+        return checkpoint != null ? checkpoint : 0;
+    }
+
+    void updateCheckpoint(long lastHistoryId) {
+        jdbcTemplate.update(UPDATE_CHECKPOINT_SQL, lastHistoryId, CHECKPOINT_NAME);
+    }
+
+    /**
+     * Returns the highest id of the next {@code batchSize} history rows after {@code afterId}
+     * that were recorded at least {@code safetyLagSeconds} ago, or {@code null} when the
+     * rollups are up to date.
+     */
+    Long findBatchEnd(long afterId, long safetyLagSeconds, int batchSize) {
+        return jdbcTemplate.queryForObject(BATCH_END_SQL, Long.class, afterId, safetyLagSeconds, batchSize);
+    }
+
+    void rollUp(long afterId, long toId) {
+        jdbcTemplate.update(ROLL_UP_HOURLY_SQL, afterId, toId, toId);
+        jdbcTemplate.update(ROLL_UP_DAILY_SQL, afterId, toId, toId);
+        jdbcTemplate.update(ROLL_UP_TOTAL_SQL, afterId, toId);
+    }
+
+    /**
+     * Unique users are kept in sketches rather than in the totals, so counts only carry views.
+     */
+    public ViewCountDto getItemCount(Long itemId) {
+        Long views = jdbcTemplate.query(ITEM_COUNT_SQL, resultSet -> resultSet.next() ? resultSet.getLong("views") : 0L,
+                itemId);
+        return new ViewCountDto(itemId, views != null ? views : 0, null);
+    }
+
+    public ViewCountDto getOwnerCount(Long ownerId) {
+        Long views = jdbcTemplate.queryForObject(OWNER_COUNT_SQL, Long.class, ownerId);
+        return new ViewCountDto(ownerId, views != null ? views : 0, null);
+    }
+
+    public List<ViewSeriesPointDto> getItemSeries(Long itemId, ViewGranularity granularity,
+                                                  LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(String.format(ITEM_SERIES_SQL, granularity.getTable()), SERIES_POINT_ROW_MAPPER,
+                itemId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public List<ViewSeriesPointDto> getOwnerSeries(Long ownerId, ViewGranularity granularity,
+                                                   LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(String.format(OWNER_SERIES_SQL, granularity.getTable()), SERIES_POINT_ROW_MAPPER,
+                ownerId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
@@ -0,0 +1,30 @@
+CREATE INDEX idx_history_item_date_user ON history (item_id, date, user_id);
+
+CREATE TABLE IF NOT EXISTS item_view_hourly (
+    item_id INT NOT NULL,
+    bucket DATETIME NOT NULL,
+    views INT NOT NULL,
+    unique_users INT NOT NULL,
+    PRIMARY KEY (item_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS item_view_daily (
+    item_id INT NOT NULL,
+    bucket DATE NOT NULL,
+    views INT NOT NULL,
+    unique_users INT NOT NULL,
+    PRIMARY KEY (item_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS item_view_total (
+    item_id INT PRIMARY KEY,
+    views BIGINT NOT NULL,
+    unique_users INT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS view_rollup_checkpoint (
+    name VARCHAR(64) PRIMARY KEY,
+    last_history_id INT NOT NULL
+);
+
+INSERT INTO view_rollup_checkpoint (name, last_history_id) VALUES ('item_views', 0);
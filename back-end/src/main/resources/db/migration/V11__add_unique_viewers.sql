@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS item_unique_viewers (
+    item_id INT PRIMARY KEY,
+    registers VARBINARY(2048) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS item_unique_viewers_daily (
+    item_id INT NOT NULL,
+    day DATE NOT NULL,
+    registers VARBINARY(2048) NOT NULL,
+    PRIMARY KEY (item_id, day)
+);
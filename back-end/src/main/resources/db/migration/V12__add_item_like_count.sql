@@ -0,0 +1,5 @@
+ALTER TABLE item ADD COLUMN like_count INT NOT NULL DEFAULT 0;
+
+UPDATE item i SET like_count = (SELECT COUNT(*) FROM liked_item l WHERE l.item_id = i.id);
+
+ALTER TABLE liked_item ADD CONSTRAINT uk_liked_item_item_user UNIQUE (item_id, user_id);
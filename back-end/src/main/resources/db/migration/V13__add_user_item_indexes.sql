@@ -0,0 +1,3 @@
+CREATE INDEX idx_history_user_item ON history (user_id, item_id);
+
+CREATE INDEX idx_liked_item_user_item ON liked_item (user_id, item_id);
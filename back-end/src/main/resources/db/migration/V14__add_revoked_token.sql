@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS revoked_token (
+    jti VARCHAR(36) PRIMARY KEY,
+    revoked_at DATETIME NOT NULL,
+    expires_at DATETIME NOT NULL,
+    INDEX idx_revoked_token_revoked_at (revoked_at),
+    INDEX idx_revoked_token_expires_at (expires_at)
+);
@@ -0,0 +1 @@
+ALTER TABLE user RENAME INDEX email TO uk_user_email, RENAME INDEX phone TO uk_user_phone;
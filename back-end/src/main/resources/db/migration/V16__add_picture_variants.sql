@@ -0,0 +1,6 @@
+ALTER TABLE picture
+    ADD COLUMN storage_key VARCHAR(255) NULL,
+    ADD COLUMN thumbnail_key VARCHAR(255) NULL,
+    ADD COLUMN card_key VARCHAR(255) NULL,
+    ADD COLUMN detail_key VARCHAR(255) NULL,
+    ADD UNIQUE KEY uk_picture_storage_key (storage_key);
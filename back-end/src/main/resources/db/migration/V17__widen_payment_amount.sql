@@ -0,0 +1 @@
+ALTER TABLE payment MODIFY amount DECIMAL(12,2) NOT NULL;
@@ -0,0 +1,5 @@
+ALTER TABLE history
+    ADD COLUMN recorded_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
+
+ALTER TABLE item_view_total
+    DROP COLUMN unique_users;
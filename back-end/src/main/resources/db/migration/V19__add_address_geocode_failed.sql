@@ -0,0 +1,2 @@
+ALTER TABLE address
+    ADD COLUMN geocode_failed BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,4 @@
+ALTER TABLE liked_item
+    ADD COLUMN created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
+
+CREATE INDEX idx_liked_item_item_created ON liked_item (item_id, created_at);
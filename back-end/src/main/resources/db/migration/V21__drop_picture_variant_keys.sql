@@ -0,0 +1,6 @@
+ALTER TABLE picture
+    DROP INDEX uk_picture_storage_key,
+    DROP COLUMN storage_key,
+    DROP COLUMN thumbnail_key,
+    DROP COLUMN card_key,
+    DROP COLUMN detail_key;
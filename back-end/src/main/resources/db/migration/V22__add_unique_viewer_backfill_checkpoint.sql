@@ -0,0 +1,6 @@
+-- The backfill replays history up to the last id recorded before this release and keeps its
+-- progress next to the rollup checkpoint, so a restart resumes where it stopped.
+INSERT INTO view_rollup_checkpoint (name, last_history_id)
+SELECT 'unique_viewers_backfill', 0
+UNION ALL
+SELECT 'unique_viewers_backfill_end', COALESCE(MAX(id), 0) FROM history;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_item_posted_date_id ON item (posted_date, id);
+
+CREATE INDEX idx_item_category_posted_date_id ON item (category_id, posted_date, id);
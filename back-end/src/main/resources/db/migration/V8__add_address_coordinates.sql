@@ -0,0 +1,3 @@
+ALTER TABLE address
+    ADD COLUMN latitude DOUBLE NULL,
+    ADD COLUMN longitude DOUBLE NULL;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_rent_end_date ON rent (end_date);
+
+CREATE INDEX idx_rent_item_dates ON rent (item_id, start_date, end_date);
@@ -0,0 +1,171 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.auth.TokenRevocationService;
+import com.devminds.rentify.entity.Role;
+import com.devminds.rentify.entity.User;
+import com.devminds.rentify.repository.RevokedTokenRepository;
+import com.devminds.rentify.repository.UserRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times {@link JwtAuthenticationFilter} on subject-only tokens with the principal served from
+ * {@link PrincipalCache} and with the cache emptied before every request, which is the user
+ * lookup every request made before the cache. The lookup runs against an in-memory database,
+ * so the measured gap understates the one against a networked one.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:rentify-auth;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.hbm2ddl.default_constraint_mode=NO_CONSTRAINT"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class JwtAuthenticationFilterTimingTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilterTimingTest.class);
+    private static final int USERS = 50;
+    private static final int REQUESTS = 2_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final List<String> tokens = new ArrayList<>();
+    private PrincipalCache principalCache;
+    private JwtAuthenticationFilter filter;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        JwtService jwtService = new JwtService(Keys.secretKeyFor(SignatureAlgorithm.HS256));
+        ReflectionTestUtils.setField(jwtService, "TOKEN_VALIDITY_DURATION", 3_600_000);
+
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedTokens", 1_000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(tokenRevocationService, "rebuildBatchSize", 1_000);
+        tokenRevocationService.rebuild();
+
+        Role role = new Role();
+        role.setDescription("User");
+        entityManager.persist(role);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setPassword("password");
+            user.setEmail("user" + i + "@rentify.test");
+            user.setPhoneNumber("+35988000" + i);
+            user.setRole(role);
+            tokens.add(jwtService.generateToken(entityManager.persist(user)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        principalCache = new PrincipalCache(10_000, Duration.ofMinutes(1));
+        filter = new JwtAuthenticationFilter(jwtService, userRepository, principalCache, tokenRevocationService);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedPrincipalsSkipTheUserLookup() throws Exception {
+        runRequests(USERS, false);
+
+        statistics.clear();
+        runRequests(REQUESTS, false);
+        long cachedStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        runRequests(REQUESTS, true);
+        long uncachedStatements = statistics.getPrepareStatementCount();
+
+        // The first requests loaded every user, so the cached run needs no statement at all.
+        assertEquals(0, cachedStatements);
+        assertTrue(uncachedStatements >= REQUESTS, "uncached run took " + uncachedStatements + " statements");
+    }
+
+    @Test
+    void cachedPrincipalsMakeTheFilterFaster() throws Exception {
+        runRequests(REQUESTS, true);
+        runRequests(REQUESTS, false);
+
+        long uncachedNanos = Long.MAX_VALUE;
+        long cachedNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            uncachedNanos = Math.min(uncachedNanos, runRequests(REQUESTS, true));
+            cachedNanos = Math.min(cachedNanos, runRequests(REQUESTS, false));
+        }
+
+        LOGGER.info("Filter overhead per request: {} us with the user lookup, {} us with a cached principal",
+                uncachedNanos / REQUESTS / 1_000.0, cachedNanos / REQUESTS / 1_000.0);
+        assertTrue(cachedNanos < uncachedNanos,
+                "cached run took " + cachedNanos + " ns, uncached run " + uncachedNanos + " ns");
+    }
+
+    /**
+     * Sends {@code requests} authenticated requests through the filter and returns the time
+     * they took, emptying the principal cache before each one when {@code uncached} is set.
+     */
+    private long runRequests(int requests, boolean uncached) throws Exception {
+        long elapsedNanos = 0;
+        for (int i = 0; i < requests; i++) {
+            if (uncached) {
+                principalCache.invalidateAll();
+            }
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Authorization", "Bearer " + tokens.get(i % tokens.size()));
+            MockFilterChain chain = new MockFilterChain();
+
+            long startedAt = System.nanoTime();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            elapsedNanos += System.nanoTime() - startedAt;
+
+            assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+            SecurityContextHolder.clearContext();
+        }
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,121 @@
+package com.devminds.rentify.config;
+
+import com.devminds.rentify.dto.HistoryDto;
+import com.devminds.rentify.dto.ItemDto;
+import com.devminds.rentify.entity.Address;
+import com.devminds.rentify.entity.Category;
+import com.devminds.rentify.entity.History;
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.entity.Role;
+import com.devminds.rentify.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Times the generated mappers on 10k-element lists, the size of a large list endpoint, for the
+ * item listing and the viewing history with their nested user and item DTOs. Each figure is the
+ * best of several rounds after a warm-up.
+ */
+@SpringJUnitConfig({ItemMapperImpl.class, UserMapperImpl.class, HistoryMapperImpl.class})
+class MapperTimingTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapperTimingTest.class);
+    private static final int ELEMENTS = 10_000;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private ItemMapper itemMapper;
+
+    @Autowired
+    private HistoryMapper historyMapper;
+
+    private final List<Item> items = new ArrayList<>(ELEMENTS);
+    private final List<History> histories = new ArrayList<>(ELEMENTS);
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setDescription("User");
+        for (int i = 0; i < ELEMENTS; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user" + i + "@rentify.test");
+            user.setPhoneNumber("+35988" + i);
+            user.setRole(role);
+            user.setAddresses(List.of(new Address()));
+
+            Category category = new Category();
+            category.setName("Category " + i % 20);
+
+            Item item = new Item();
+            item.setId((long) i);
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setPrice(BigDecimal.valueOf(i));
+            item.setPostedDate(new Date());
+            item.setDeposit(10);
+            item.setCategory(category);
+            item.setUser(user);
+            items.add(item);
+
+            History history = new History();
+            history.setId((long) i);
+            history.setUser(user);
+            history.setItem(item);
+            history.setDate(new Date());
+            histories.add(history);
+        }
+    }
+
+    @Test
+    void itemListsMapWithTheirOwners() {
+        List<ItemDto> dtos = time("items", () -> items.stream().map(itemMapper::mapToItemDto).toList());
+
+        assertEquals(ELEMENTS, dtos.size());
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertEquals(items.get(i).getName(), dtos.get(i).getName());
+            assertEquals(items.get(i).getUser().getEmail(), dtos.get(i).getUser().getEmail());
+            assertSame(items.get(i).getCategory(), dtos.get(i).getCategory());
+        }
+    }
+
+    @Test
+    void historyListsMapWithTheirUsersAndItems() {
+        List<HistoryDto> dtos = time("histories",
+                () -> histories.stream().map(historyMapper::mapToHistoryDto).toList());
+
+        assertEquals(ELEMENTS, dtos.size());
+        for (int i = 0; i < ELEMENTS; i++) {
+            assertEquals(histories.get(i).getUser().getEmail(), dtos.get(i).getUser().getEmail());
+            assertEquals(histories.get(i).getItem().getName(), dtos.get(i).getItem().getName());
+        }
+    }
+
+    private <T> List<T> time(String name, Supplier<List<T>> mapping) {
+        List<T> mapped = mapping.get();
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startedAt = System.nanoTime();
+            mapped = mapping.get();
+            bestNanos = Math.min(bestNanos, System.nanoTime() - startedAt);
+        }
+
+        LOGGER.info("Mapped {} {} in {} ms, {} ns per element",
+                ELEMENTS, name, bestNanos / 1_000_000.0, bestNanos / ELEMENTS);
+        return mapped;
+    }
+}
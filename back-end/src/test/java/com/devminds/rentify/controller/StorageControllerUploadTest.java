@@ -0,0 +1,88 @@
+package com.devminds.rentify.controller;
+
+import com.devminds.rentify.dto.ImageUploadResultDto;
+import com.devminds.rentify.service.StorageService;
+import com.devminds.rentify.service.upload.ImageUploadPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StorageControllerUploadTest {
+    private final StorageService storageService = mock(StorageService.class);
+    private final ImageUploadPipeline pipeline =
+            new ImageUploadPipeline(storageService, 2, 16, new SimpleMeterRegistry());
+    private final StorageController controller = new StorageController();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(pipeline, "perRequestConcurrency", 2);
+        ReflectionTestUtils.setField(controller, "imageUploadPipeline", pipeline);
+        ReflectionTestUtils.setField(controller, "uploadTimeoutMs", 60_000L);
+        doReturn(new URL("https://rentify.example/image")).when(storageService).uploadFile(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void storingEveryFileAnswersOk() throws Exception {
+        ResponseEntity<List<ImageUploadResultDto>> response = upload(file("a.jpg"), file("b.jpg"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        response.getBody().forEach(result -> assertNull(result.getError()));
+    }
+
+    @Test
+    void storingSomeOfTheFilesAnswersMultiStatus() throws Exception {
+        MultipartFile failing = file("b.jpg");
+        doThrow(new IOException("Cannot upload the file.")).when(storageService).uploadFile(failing);
+
+        ResponseEntity<List<ImageUploadResultDto>> response = upload(file("a.jpg"), failing, file("c.jpg"));
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        List<ImageUploadResultDto> results = response.getBody();
+        assertNull(results.get(0).getError());
+        assertEquals("Upload failed.", results.get(1).getError());
+        assertNull(results.get(2).getError());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<List<ImageUploadResultDto>> upload(MultipartFile... files) throws InterruptedException {
+        DeferredResult<ResponseEntity<List<ImageUploadResultDto>>> result = controller.uploadFiles(List.of(files));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(result.hasResult());
+        return (ResponseEntity<List<ImageUploadResultDto>>) result.getResult();
+    }
+
+    private static MultipartFile file(String name) {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getOriginalFilename()).thenReturn(name);
+        return file;
+    }
+}
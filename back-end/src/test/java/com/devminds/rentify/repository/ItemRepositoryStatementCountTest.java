@@ -0,0 +1,165 @@
+package com.devminds.rentify.repository;
+
+import com.devminds.rentify.config.ItemMapper;
+import com.devminds.rentify.config.ItemMapperImpl;
+import com.devminds.rentify.config.UserMapperImpl;
+import com.devminds.rentify.entity.Address;
+import com.devminds.rentify.entity.Category;
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.entity.Role;
+import com.devminds.rentify.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements behind an item detail and an item listing, including mapping
+ * to DTOs the way the service does, so that a lazy association slipping back into the read
+ * path shows up as a count that grows with the page. Every item has its own user, category
+ * and address so that nothing is served from the persistence context instead of a query.
+ * The Flyway migrations are MySQL-only, so the schema here is generated from the entities.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:rentify;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.hbm2ddl.default_constraint_mode=NO_CONSTRAINT",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ItemMapperImpl.class, UserMapperImpl.class})
+class ItemRepositoryStatementCountTest {
+    private static final int ITEMS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemMapper itemMapper;
+
+    private final List<Item> items = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // like_count is filled in by the database, which the generated schema leaves undefaulted.
+        entityManager.getEntityManager()
+                .createNativeQuery("ALTER TABLE item ALTER COLUMN like_count SET DEFAULT 0")
+                .executeUpdate();
+
+        Role role = entityManager.persist(new Role());
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(entityManager.persist(newItem(i, role)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void itemDetailTakesTheSameStatementsForEveryItem() {
+        long first = countStatements(() -> loadDetail(items.get(0).getId()));
+        long last = countStatements(() -> loadDetail(items.get(ITEMS - 1).getId()));
+
+        assertEquals(first, last);
+        assertTrue(first <= 2, "item detail took " + first + " statements");
+    }
+
+    @Test
+    void listingTakesTheSameStatementsWhateverThePageSize() {
+        long small = countStatements(() -> loadPage(2));
+        long large = countStatements(() -> loadPage(ITEMS));
+
+        assertEquals(small, large);
+        assertTrue(large <= 2, "a page of " + ITEMS + " items took " + large + " statements");
+    }
+
+    @Test
+    void itemsByIdTakeTheSameStatementsWhateverTheirNumber() {
+        List<Long> ids = items.stream().map(Item::getId).toList();
+
+        long small = countStatements(() -> itemRepository.findWithDetailsByIdIn(ids.subList(0, 2))
+                .forEach(itemMapper::mapToItemDto));
+        long large = countStatements(() -> itemRepository.findWithDetailsByIdIn(ids)
+                .forEach(itemMapper::mapToItemDto));
+
+        assertEquals(small, large);
+    }
+
+    private void loadDetail(Long id) {
+        itemMapper.mapToItemDto(itemRepository.findWithDetailsById(id).orElseThrow());
+    }
+
+    private void loadPage(int size) {
+        List<Item> page = itemRepository.findFirstPage(Limit.of(size));
+        assertEquals(size, page.size());
+        page.forEach(itemMapper::mapToItemDto);
+    }
+
+    private long countStatements(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Item newItem(int number, Role role) {
+        User user = new User();
+        user.setFirstName("First" + number);
+        user.setLastName("Last" + number);
+        user.setPassword("password");
+        user.setEmail("user" + number + "@rentify.test");
+        user.setPhoneNumber("+3598800000" + number);
+        user.setRole(role);
+        entityManager.persist(user);
+
+        Category category = new Category();
+        category.setName("Category " + number);
+        entityManager.persist(category);
+
+        Address address = new Address();
+        address.setCity("City " + number);
+        address.setStreet("Street");
+        address.setPostCode("1000");
+        address.setStreetNumber(String.valueOf(number));
+        entityManager.persist(address);
+
+        Item item = new Item();
+        item.setName("Item " + number);
+        item.setDescription("Description " + number);
+        item.setPrice(new BigDecimal("10.00"));
+        item.setPostedDate(new Date(1_700_000_000_000L + number * 60_000L));
+        item.setDeposit(5);
+        item.setCategory(category);
+        item.setUser(user);
+        item.setAddress(address);
+        return item;
+    }
+}
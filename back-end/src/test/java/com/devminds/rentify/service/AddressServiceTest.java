@@ -0,0 +1,91 @@
+package com.devminds.rentify.service;
+
+import com.devminds.rentify.entity.Address;
+import com.devminds.rentify.repository.AddressRepository;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.service.geo.GeoPoint;
+import com.devminds.rentify.service.geo.PostcodeGeocoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AddressServiceTest {
+    private final AddressRepository addressRepository = mock(AddressRepository.class);
+    private final PostcodeGeocoder postcodeGeocoder = mock(PostcodeGeocoder.class);
+    private final AddressService addressService = new AddressService(addressRepository, postcodeGeocoder,
+            mock(ItemRepository.class), mock(ApplicationEventPublisher.class));
+
+    @BeforeEach
+    void setUp() {
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(postcodeGeocoder.geocode(anyString())).thenReturn(Optional.empty());
+        when(postcodeGeocoder.geocode("1000")).thenReturn(Optional.of(new GeoPoint(42.69, 23.32)));
+        when(postcodeGeocoder.geocode("4000")).thenReturn(Optional.of(new GeoPoint(42.14, 24.75)));
+    }
+
+    @Test
+    void newAddressesAreGeocoded() {
+        Address saved = addressService.saveAddress(address(0, "1000", null, null));
+
+        assertEquals(42.69, saved.getLatitude());
+        assertEquals(23.32, saved.getLongitude());
+        assertFalse(saved.isGeocodeFailed());
+    }
+
+    @Test
+    void changingThePostCodeMovesTheAddress() {
+        when(addressRepository.findById(7)).thenReturn(Optional.of(address(7, "1000", 42.69, 23.32)));
+
+        Address saved = addressService.saveAddress(address(7, "4000", 42.69, 23.32));
+
+        assertEquals(42.14, saved.getLatitude());
+        assertEquals(24.75, saved.getLongitude());
+    }
+
+    @Test
+    void changingToAnUnknownPostCodeDropsTheOldCoordinates() {
+        when(addressRepository.findById(7)).thenReturn(Optional.of(address(7, "1000", 42.69, 23.32)));
+
+        Address saved = addressService.saveAddress(address(7, "9999", null, null));
+
+        assertNull(saved.getLatitude());
+        assertNull(saved.getLongitude());
+        assertTrue(saved.isGeocodeFailed());
+    }
+
+    @Test
+    void keepingThePostCodeKeepsTheStoredCoordinates() {
+        when(addressRepository.findById(7)).thenReturn(Optional.of(address(7, "1000", 42.7, 23.3)));
+
+        Address saved = addressService.saveAddress(address(7, "1000", 1.0, 2.0));
+
+        assertEquals(42.7, saved.getLatitude());
+        assertEquals(23.3, saved.getLongitude());
+        verify(postcodeGeocoder, never()).geocode(anyString());
+    }
+
+    private static Address address(int id, String postCode, Double latitude, Double longitude) {
+        Address address = new Address();
+        address.setId(id);
+        address.setCity("Sofia");
+        address.setStreet("Vitosha");
+        address.setStreetNumber("1");
+        address.setPostCode(postCode);
+        address.setLatitude(latitude);
+        address.setLongitude(longitude);
+        return address;
+    }
+}
@@ -0,0 +1,221 @@
+package com.devminds.rentify.service;
+
+import com.devminds.rentify.config.RentMapper;
+import com.devminds.rentify.config.RentMapperImpl;
+import com.devminds.rentify.dto.BookingDto;
+import com.devminds.rentify.entity.Role;
+import com.devminds.rentify.entity.User;
+import com.devminds.rentify.enums.PaymentMethod;
+import com.devminds.rentify.exception.BookingConflictException;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.repository.PaymentRepository;
+import com.devminds.rentify.repository.RentRepository;
+import com.devminds.rentify.repository.UserRepository;
+import com.devminds.rentify.service.availability.ItemAvailabilityIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Books overlapping ranges of one item from several threads against a real database, so the
+ * item row lock, the overlap query and bean validation on the persisted rent and payment all
+ * take part. The threads alternate between two service instances with separate striped locks,
+ * standing in for two application instances that only share the database. The Flyway
+ * migrations are MySQL-only, so the schema here is generated from the entities.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:rentify-booking;MODE=MySQL;NON_KEYWORDS=USER,VALUE;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.default_constraint_mode=NO_CONSTRAINT",
+        "spring.jpa.properties.jakarta.persistence.validation.mode=callback",
+        "application.booking.max-attempts=20"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingService.class, RentMapperImpl.class, ItemAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final String ITEM_INSERT_SQL = """
+            INSERT INTO item (id, name, description, price, posted_date, deposit, like_count, user_id)
+            VALUES (?, 'Tent', 'Family tent', 50.00, CURRENT_TIMESTAMP, 10, 0, ?)""";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RentRepository rentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Autowired
+    private RentMapper rentMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = transactionTemplate.execute(status -> {
+            Role role = new Role();
+            role.setDescription("Renter");
+            entityManager.persist(role);
+
+            User user = new User();
+            user.setFirstName("Renter");
+            user.setLastName("Renter");
+            user.setPassword("password");
+            user.setEmail("renter-" + System.nanoTime() + "@rentify.test");
+            user.setPhoneNumber("+359880000000");
+            user.setRole(role);
+            entityManager.persist(user);
+            return user.getId();
+        });
+    }
+
+    @Test
+    void overlappingBookingsCreateExactlyOneRent() throws Exception {
+        long itemId = createItem(1L);
+        BookingService otherInstance = new BookingService(itemRepository, rentRepository, paymentRepository,
+                userRepository, itemAvailabilityIndex, rentMapper, transactionTemplate, 1024);
+        ReflectionTestUtils.setField(otherInstance, "maxAttempts", 20);
+        ReflectionTestUtils.setField(otherInstance, "lockTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(otherInstance, "retryBackoffMs", 10L);
+
+        // Every range contains the tenth day from now, so any two of them overlap.
+        Random random = new Random(8);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BookingService service = i % 2 == 0 ? bookingService : otherInstance;
+            BookingDto booking = booking(itemId, LocalDate.now().plusDays(1 + random.nextInt(9)),
+                    LocalDate.now().plusDays(10 + random.nextInt(10)));
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    service.bookItem(userId, booking);
+                    booked.incrementAndGet();
+                } catch (BookingConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, booked.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, countRents(itemId));
+        assertEquals(1, countPayments(itemId));
+    }
+
+    @Test
+    void paymentCoversEveryBookedDay() {
+        long itemId = createItem(2L);
+
+        bookingService.bookItem(userId, booking(itemId, LocalDate.now().plusDays(1), LocalDate.now().plusDays(30)));
+
+        BigDecimal amount = (BigDecimal) querySingle(
+                "SELECT p.amount FROM payment p JOIN rent r ON r.id = p.rent_id WHERE r.item_id = ?1", itemId);
+        assertEquals(0, new BigDecimal("1500.00").compareTo(amount));
+    }
+
+    @Test
+    void bookingARangeThatIsTakenIsRejected() {
+        long itemId = createItem(3L);
+        bookingService.bookItem(userId, booking(itemId, LocalDate.now().plusDays(5), LocalDate.now().plusDays(8)));
+
+        BookingDto overlapping = booking(itemId, LocalDate.now().plusDays(8), LocalDate.now().plusDays(9));
+        BookingDto adjacent = booking(itemId, LocalDate.now().plusDays(9), LocalDate.now().plusDays(12));
+
+        // Nothing feeds the availability index here, so the overlap query is what rejects it.
+        assertThrows(BookingConflictException.class, () -> bookingService.bookItem(userId, overlapping));
+        bookingService.bookItem(userId, adjacent);
+        assertEquals(2, countRents(itemId));
+    }
+
+    private long createItem(long itemId) {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(ITEM_INSERT_SQL)
+                .setParameter(1, itemId)
+                .setParameter(2, userId)
+                .executeUpdate());
+        return itemId;
+    }
+
+    private long countRents(long itemId) {
+        return ((Number) querySingle("SELECT COUNT(*) FROM rent WHERE item_id = ?1", itemId)).longValue();
+    }
+
+    private long countPayments(long itemId) {
+        return ((Number) querySingle(
+                "SELECT COUNT(*) FROM payment p JOIN rent r ON r.id = p.rent_id WHERE r.item_id = ?1", itemId))
+                .longValue();
+    }
+
+    private Object querySingle(String sql, long itemId) {
+        return transactionTemplate.execute(status -> entityManager.createNativeQuery(sql)
+                .setParameter(1, itemId)
+                .getSingleResult());
+    }
+
+    private static BookingDto booking(long itemId, LocalDate startDate, LocalDate endDate) {
+        BookingDto booking = new BookingDto();
+        booking.setItemId(itemId);
+        booking.setStartDate(startDate);
+        booking.setEndDate(endDate);
+        booking.setPaymentMethod(PaymentMethod.values()[0]);
+        return booking;
+    }
+}
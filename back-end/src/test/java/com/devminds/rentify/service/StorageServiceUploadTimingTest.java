@@ -0,0 +1,151 @@
+package com.devminds.rentify.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends concurrent 5MB uploads through {@link StorageService#uploadFile} and records the latency
+ * and the bytes each upload allocates. The S3 client is a mock that drains the body through a
+ * small buffer, so the figures cover the service's own handling of the body and not the SDK's
+ * or the network's.
+ */
+class StorageServiceUploadTimingTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorageServiceUploadTimingTest.class);
+    private static final int FILE_SIZE = 5 * 1024 * 1024;
+    private static final int THREADS = 8;
+    private static final int UPLOADS = 64;
+
+    private final AmazonS3 s3Client = mock(AmazonS3.class);
+    private final AtomicLong bytesStored = new AtomicLong();
+    private final StorageService storageService = new StorageService(s3Client, mock(ApplicationEventPublisher.class),
+            DataSize.ofMegabytes(16), DataSize.ofMegabytes(8));
+
+    @AfterEach
+    void tearDown() {
+        storageService.shutdown();
+    }
+
+    @Test
+    void concurrentUploadsStreamTheBodyWithoutCopyingIt() throws Exception {
+        ReflectionTestUtils.setField(storageService, "bucketName", "rentify");
+        when(s3Client.putObject(anyString(), anyString(), any(InputStream.class), any(ObjectMetadata.class)))
+                .thenAnswer(invocation -> {
+                    bytesStored.addAndGet(drain(invocation.getArgument(2)));
+                    return new PutObjectResult();
+                });
+        when(s3Client.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+                .thenReturn(new URL("https://rentify.example/image"));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AtomicLong maxAllocatedBytes = new AtomicLong();
+        AtomicLong maxLatencyNanos = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<?>> uploads = new ArrayList<>();
+            for (int i = 0; i < UPLOADS; i++) {
+                uploads.add(executor.submit(() -> {
+                    MultipartFile file = file();
+                    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                    long uploadStartedAt = System.nanoTime();
+                    storageService.uploadFile(file);
+                    maxLatencyNanos.accumulateAndGet(System.nanoTime() - uploadStartedAt, Math::max);
+                    maxAllocatedBytes.accumulateAndGet(
+                            threads.getCurrentThreadAllocatedBytes() - allocatedBefore, Math::max);
+                    return null;
+                }));
+            }
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        LOGGER.info("{} uploads of {} bytes on {} threads in {} ms, slowest {} ms, at most {} bytes allocated each",
+                UPLOADS, FILE_SIZE, THREADS, elapsedNanos / 1_000_000.0, maxLatencyNanos.get() / 1_000_000.0,
+                maxAllocatedBytes.get());
+        assertEquals((long) UPLOADS * FILE_SIZE, bytesStored.get());
+        // Copying the body to the heap, as uploads used to, allocates at least the whole file.
+        assertTrue(maxAllocatedBytes.get() < FILE_SIZE / 4,
+                "an upload allocated " + maxAllocatedBytes.get() + " bytes");
+    }
+
+    private static MultipartFile file() throws Exception {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getSize()).thenReturn((long) FILE_SIZE);
+        when(file.getContentType()).thenReturn("image/jpeg");
+        when(file.getInputStream()).thenAnswer(invocation -> new GeneratedInputStream(FILE_SIZE));
+        return file;
+    }
+
+    private static long drain(InputStream inputStream) throws Exception {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        for (int read; (read = inputStream.read(buffer)) != -1; ) {
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * A body of {@code size} bytes produced as it is read, so the test itself holds none of it.
+     */
+    private static final class GeneratedInputStream extends InputStream {
+        private long remaining;
+
+        GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return (int) (remaining & 0xFF);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = (int) Math.min(length, remaining);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) (remaining - i);
+            }
+            remaining -= count;
+            return count;
+        }
+    }
+}
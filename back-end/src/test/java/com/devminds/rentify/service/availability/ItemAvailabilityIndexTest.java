@@ -0,0 +1,106 @@
+package com.devminds.rentify.service.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemAvailabilityIndexTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    private ItemAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemAvailabilityIndex(365);
+        index.roll(TODAY);
+    }
+
+    @Test
+    void itemsWithoutRentsAreAlwaysAvailable() {
+        assertTrue(index.isAvailable(1, TODAY, TODAY.plusDays(400)));
+        assertEquals(List.of(), index.getBookedDays(1, TODAY, TODAY.plusDays(30)));
+    }
+
+    @Test
+    void rentsOnlyBlockTheirOwnItem() {
+        index.put(1, 10, TODAY.plusDays(3), TODAY.plusDays(5));
+
+        assertFalse(index.isAvailable(1, TODAY.plusDays(5), TODAY.plusDays(9)));
+        assertTrue(index.isAvailable(2, TODAY.plusDays(5), TODAY.plusDays(9)));
+        assertEquals(List.of(TODAY.plusDays(3), TODAY.plusDays(4), TODAY.plusDays(5)),
+                index.getBookedDays(1, TODAY, TODAY.plusDays(30)));
+    }
+
+    @Test
+    void calendarsAreDroppedOnceTheirLastRentIsRemoved() {
+        index.put(1, 10, TODAY.plusDays(3), TODAY.plusDays(5));
+        index.put(1, 11, TODAY.plusDays(8), TODAY.plusDays(9));
+
+        index.remove(1, 10);
+        assertTrue(index.isAvailable(1, TODAY.plusDays(3), TODAY.plusDays(5)));
+        assertFalse(index.isAvailable(1, TODAY.plusDays(9), TODAY.plusDays(9)));
+        assertEquals(1, calendars().size());
+
+        index.remove(1, 11);
+        assertTrue(index.isAvailable(1, TODAY, TODAY.plusDays(30)));
+        assertTrue(calendars().isEmpty());
+    }
+
+    @Test
+    void rollMovesTheHorizonAndForgetsEndedRents() {
+        index.put(1, 10, TODAY.minusDays(2), TODAY.plusDays(1));
+        index.put(2, 20, TODAY.plusDays(1), TODAY.plusDays(4));
+        index.put(3, 30, TODAY.plusDays(360), TODAY.plusDays(370));
+
+        LocalDate nextWeek = TODAY.plusDays(7);
+        index.roll(TODAY.plusDays(2));
+        index.roll(nextWeek);
+
+        assertEquals(nextWeek, index.getHorizonStart());
+        assertEquals(1, calendars().size());
+        assertTrue(index.isAvailable(1, TODAY, nextWeek));
+        assertTrue(index.isAvailable(2, TODAY, nextWeek));
+        assertFalse(index.isAvailable(3, TODAY.plusDays(365), TODAY.plusDays(366)));
+        assertTrue(index.isAvailable(3, TODAY.plusDays(371), TODAY.plusDays(400)));
+        assertEquals(11, index.getBookedDays(3, nextWeek, nextWeek.plusDays(400)).size());
+    }
+
+    @Test
+    void rollKeepsRentsThatAreStillRunning() {
+        index.put(1, 10, TODAY.plusDays(1), TODAY.plusDays(10));
+
+        index.roll(TODAY.plusDays(5));
+
+        assertFalse(index.isAvailable(1, TODAY.plusDays(5), TODAY.plusDays(5)));
+        assertFalse(index.isAvailable(1, TODAY.plusDays(10), TODAY.plusDays(12)));
+        assertTrue(index.isAvailable(1, TODAY.plusDays(11), TODAY.plusDays(20)));
+        assertEquals(6, index.getBookedDays(1, TODAY.plusDays(5), TODAY.plusDays(20)).size());
+    }
+
+    @Test
+    void rentsAddedAfterARollUseTheNewHorizon() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        index.roll(tomorrow);
+
+        index.put(1, 10, tomorrow, tomorrow);
+        index.put(1, 11, tomorrow.plusDays(364), tomorrow.plusDays(364));
+
+        assertFalse(index.isAvailable(1, tomorrow, tomorrow));
+        assertTrue(index.isAvailable(1, tomorrow.plusDays(1), tomorrow.plusDays(363)));
+        assertFalse(index.isAvailable(1, tomorrow.plusDays(364), tomorrow.plusDays(364)));
+        assertTrue(index.isAvailable(1, TODAY, TODAY));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ItemCalendar> calendars() {
+        return (Map<Long, ItemCalendar>) ReflectionTestUtils.getField(index, "calendars");
+    }
+}
@@ -0,0 +1,88 @@
+package com.devminds.rentify.service.availability;
+
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.entity.Rent;
+import com.devminds.rentify.event.RentChangedEvent;
+import com.devminds.rentify.repository.RentPeriodProjection;
+import com.devminds.rentify.repository.RentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemAvailabilityIndexerTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final ItemAvailabilityIndex index = new ItemAvailabilityIndex(365);
+    private final RentRepository rentRepository = mock(RentRepository.class);
+    private final ItemAvailabilityIndexer indexer = new ItemAvailabilityIndexer(index, rentRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(indexer, "rebuildBatchSize", 10);
+    }
+
+    @Test
+    void rebuildLoadsEveryRent() {
+        List<RentPeriodProjection> batch = List.of(period(1, 7L, 3, 5), period(2, 8L, 10, 12));
+        when(rentRepository.findPeriodsEndingAfter(any(), anyInt(), any())).thenReturn(batch);
+
+        indexer.rebuild();
+
+        assertFalse(index.isAvailable(7L, TODAY.plusDays(5), TODAY.plusDays(6)));
+        assertFalse(index.isAvailable(8L, TODAY.plusDays(9), TODAY.plusDays(10)));
+        assertTrue(index.isAvailable(7L, TODAY.plusDays(6), TODAY.plusDays(9)));
+    }
+
+    @Test
+    void changesDuringTheRebuildWinOverTheBatchesReadBeforeThem() {
+        // The batch is read, then rent 1 is cancelled and rent 2 moved before it is applied.
+        List<RentPeriodProjection> staleBatch = List.of(period(1, 7L, 3, 5), period(2, 8L, 10, 12));
+        when(rentRepository.findPeriodsEndingAfter(any(), anyInt(), any())).thenAnswer(invocation -> {
+            indexer.onRentChanged(new RentChangedEvent(rent(1, 7L, 3, 5), true));
+            indexer.onRentChanged(new RentChangedEvent(rent(2, 8L, 20, 22), false));
+            return staleBatch;
+        });
+
+        indexer.rebuild();
+
+        assertTrue(index.isAvailable(7L, TODAY.plusDays(3), TODAY.plusDays(5)));
+        assertTrue(index.isAvailable(8L, TODAY.plusDays(10), TODAY.plusDays(12)));
+        assertFalse(index.isAvailable(8L, TODAY.plusDays(21), TODAY.plusDays(21)));
+    }
+
+    private static RentPeriodProjection period(int rentId, Long itemId, int startDay, int endDay) {
+        RentPeriodProjection period = mock(RentPeriodProjection.class);
+        when(period.getId()).thenReturn(rentId);
+        when(period.getItemId()).thenReturn(itemId);
+        when(period.getStartDate()).thenReturn(day(startDay));
+        when(period.getEndDate()).thenReturn(day(endDay));
+        return period;
+    }
+
+    private static Rent rent(int rentId, Long itemId, int startDay, int endDay) {
+        Item item = new Item();
+        item.setId(itemId);
+        Rent rent = new Rent();
+        rent.setId(rentId);
+        rent.setItem(item);
+        rent.setStartDate(day(startDay));
+        rent.setEndDate(day(endDay));
+        return rent;
+    }
+
+    private static Date day(int daysFromToday) {
+        return Date.from(TODAY.plusDays(daysFromToday).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
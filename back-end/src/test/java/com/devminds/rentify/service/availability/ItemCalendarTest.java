@@ -0,0 +1,126 @@
+package com.devminds.rentify.service.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemCalendarTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void horizonIsTheConfiguredNumberOfDays() {
+        assertEquals(365, new ItemCalendar(START, 365).horizonDays());
+        assertEquals(64, new ItemCalendar(START, 64).horizonDays());
+        assertEquals(1, new ItemCalendar(START, 1).horizonDays());
+    }
+
+    @Test
+    void bookedDaysIncludeBothEnds() {
+        ItemCalendar calendar = new ItemCalendar(START, 365);
+        calendar.put(1, day(10), day(12));
+
+        assertTrue(calendar.isAvailable(day(5), day(9)));
+        assertFalse(calendar.isAvailable(day(5), day(10)));
+        assertFalse(calendar.isAvailable(day(11), day(11)));
+        assertFalse(calendar.isAvailable(day(12), day(20)));
+        assertTrue(calendar.isAvailable(day(13), day(20)));
+        assertEquals(List.of(day(10), day(11), day(12)), calendar.getBookedDays(day(0), day(30)));
+    }
+
+    @Test
+    void rangesAcrossWordBoundariesAreChecked() {
+        ItemCalendar calendar = new ItemCalendar(START, 365);
+        calendar.put(1, day(63), day(64));
+        calendar.put(2, day(200), day(200));
+
+        assertTrue(calendar.isAvailable(day(0), day(62)));
+        assertFalse(calendar.isAvailable(day(0), day(63)));
+        assertFalse(calendar.isAvailable(day(64), day(127)));
+        assertTrue(calendar.isAvailable(day(65), day(199)));
+        assertFalse(calendar.isAvailable(day(65), day(300)));
+        assertTrue(calendar.isAvailable(day(201), day(364)));
+    }
+
+    @Test
+    void daysPastTheHorizonAreAnsweredFromThePeriods() {
+        ItemCalendar calendar = new ItemCalendar(START, 10);
+        calendar.put(1, day(8), day(12));
+        calendar.put(2, day(40), day(41));
+
+        assertFalse(calendar.isAvailable(day(11), day(11)));
+        assertFalse(calendar.isAvailable(day(30), day(40)));
+        assertTrue(calendar.isAvailable(day(13), day(39)));
+        assertTrue(calendar.isAvailable(day(42), day(60)));
+        assertEquals(List.of(day(8), day(9), day(10), day(11), day(12), day(40), day(41)),
+                calendar.getBookedDays(day(0), day(50)));
+    }
+
+    @Test
+    void daysBeforeTheHorizonAreAnsweredFromThePeriods() {
+        ItemCalendar calendar = new ItemCalendar(START, 365);
+        calendar.put(1, START.minusDays(3), day(1));
+
+        assertFalse(calendar.isAvailable(START.minusDays(5), START.minusDays(2)));
+        assertTrue(calendar.isAvailable(START.minusDays(10), START.minusDays(4)));
+        assertFalse(calendar.isAvailable(day(1), day(1)));
+        assertTrue(calendar.isAvailable(day(2), day(2)));
+    }
+
+    @Test
+    void puttingARentAgainMovesIt() {
+        ItemCalendar calendar = new ItemCalendar(START, 365);
+        calendar.put(1, day(1), day(3));
+        calendar.put(1, day(5), day(6));
+
+        assertTrue(calendar.isAvailable(day(1), day(4)));
+        assertEquals(List.of(day(5), day(6)), calendar.getBookedDays(day(0), day(10)));
+    }
+
+    @Test
+    void removingARentKeepsDaysAnotherRentCovers() {
+        ItemCalendar calendar = new ItemCalendar(START, 365);
+        calendar.put(1, day(1), day(5));
+        calendar.put(2, day(4), day(8));
+
+        calendar.remove(1);
+
+        assertTrue(calendar.isAvailable(day(1), day(3)));
+        assertEquals(List.of(day(4), day(5), day(6), day(7), day(8)), calendar.getBookedDays(day(0), day(10)));
+        assertFalse(calendar.isEmpty());
+
+        calendar.remove(2);
+        calendar.remove(3);
+
+        assertTrue(calendar.isEmpty());
+        assertTrue(calendar.isAvailable(day(0), day(364)));
+    }
+
+    @Test
+    void rebuildMovesTheHorizonAndDropsEndedRents() {
+        ItemCalendar calendar = new ItemCalendar(START, 100);
+        calendar.put(1, day(0), day(2));
+        calendar.put(2, day(4), day(6));
+        calendar.put(3, day(103), day(104));
+
+        calendar.rebuild(day(5));
+
+        // Rent 1 ended before the new horizon start and is gone. Rent 2 runs into the horizon,
+        // so it is kept and its day before the horizon is still answered from the period.
+        assertTrue(calendar.isAvailable(day(0), day(3)));
+        assertEquals(List.of(day(4), day(5), day(6), day(103), day(104)), calendar.getBookedDays(day(0), day(110)));
+        assertFalse(calendar.isAvailable(day(104), day(104)));
+
+        calendar.rebuild(day(200));
+
+        assertTrue(calendar.isEmpty());
+    }
+
+    private static LocalDate day(int offset) {
+        return START.plusDays(offset);
+    }
+}
@@ -0,0 +1,166 @@
+package com.devminds.rentify.service.download;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.devminds.rentify.exception.StoredFileNotFoundException;
+import com.devminds.rentify.service.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageDiskCacheTest {
+    private static final byte[] CONTENT = "jpeg bytes".getBytes(StandardCharsets.UTF_8);
+    private static final int CALLERS = 8;
+
+    @TempDir
+    Path directory;
+
+    private final StorageService storageService = mock(StorageService.class);
+    private ImageDiskCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cache = new ImageDiskCache(storageService, true, directory.toString(), DataSize.ofMegabytes(1), 4,
+                Duration.ofMinutes(10), 0, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(storageService.downloadFile(eq("a.jpg"), any(), any(), any())).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            releaseFetch.await();
+            return object();
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        AtomicInteger finished = new AtomicInteger();
+        try {
+            List<Future<CachedImage>> images = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                images.add(callers.submit(() -> {
+                    CachedImage image = cache.get("a.jpg");
+                    finished.incrementAndGet();
+                    return image;
+                }));
+            }
+            assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            // Every caller is still waiting on the one fetch in flight.
+            assertEquals(0, finished.get());
+            releaseFetch.countDown();
+
+            CachedImage first = images.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<CachedImage> image : images) {
+                assertSame(first, image.get(10, TimeUnit.SECONDS));
+            }
+            assertArrayEquals(CONTENT, Files.readAllBytes(first.path()));
+            assertEquals("etag", first.eTag());
+            assertEquals(CONTENT.length, first.length());
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(storageService, times(1)).downloadFile(eq("a.jpg"), any(), any(), any());
+    }
+
+    @Test
+    void aFailedFetchIsNotCached() throws Exception {
+        when(storageService.downloadFile(eq("a.jpg"), any(), any(), any()))
+                .thenThrow(new StoredFileNotFoundException("File a.jpg not found.", null))
+                .thenAnswer(invocation -> object());
+
+        assertThrows(StoredFileNotFoundException.class, () -> cache.get("a.jpg"));
+        assertNull(cache.getIfPresent("a.jpg"));
+        CachedImage image = cache.get("a.jpg");
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(image.path()));
+        verify(storageService, times(2)).downloadFile(eq("a.jpg"), any(), any(), any());
+    }
+
+    @Test
+    void aPendingFetchDoesNotBlockOtherFiles() throws Exception {
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(storageService.downloadFile(eq("slow.jpg"), any(), any(), any())).thenAnswer(invocation -> {
+            releaseFetch.await();
+            return object();
+        });
+        when(storageService.downloadFile(eq("a.jpg"), any(), any(), any())).thenAnswer(invocation -> object());
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<CachedImage> slow = caller.submit(() -> cache.get("slow.jpg"));
+
+            assertArrayEquals(CONTENT, Files.readAllBytes(cache.get("a.jpg").path()));
+            assertFalse(slow.isDone());
+            releaseFetch.countDown();
+            assertArrayEquals(CONTENT, Files.readAllBytes(slow.get(10, TimeUnit.SECONDS).path()));
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidatedFilesAreDeletedAndFetchedAgain() throws Exception {
+        when(storageService.downloadFile(eq("a.jpg"), any(), any(), any())).thenAnswer(invocation -> object());
+        CachedImage first = cache.get("a.jpg");
+
+        cache.invalidate("a.jpg");
+        CachedImage second = cache.get("a.jpg");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (Files.exists(first.path()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(Files.exists(first.path()));
+        assertTrue(Files.exists(second.path()));
+        verify(storageService, times(2)).downloadFile(eq("a.jpg"), any(), any(), any());
+    }
+
+    private static S3Object object() {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(CONTENT.length);
+        metadata.setContentType("image/jpeg");
+        metadata.setHeader("ETag", "etag");
+        S3Object object = new S3Object();
+        object.setObjectMetadata(metadata);
+        object.setObjectContent(new ByteArrayInputStream(CONTENT));
+        return object;
+    }
+}
@@ -0,0 +1,80 @@
+package com.devminds.rentify.service.download;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestedRangeTest {
+
+    @Test
+    void parsesAClosedRange() {
+        RequestedRange range = RequestedRange.parse("bytes=10-19");
+
+        assertEquals(new RequestedRange(10L, 19L, null), range);
+        assertFalse(range.isSuffix());
+    }
+
+    @Test
+    void parsesAnOpenEndedRange() {
+        assertEquals(new RequestedRange(100L, null, null), RequestedRange.parse("bytes=100-"));
+    }
+
+    @Test
+    void parsesASuffixRange() {
+        RequestedRange range = RequestedRange.parse("bytes=-500");
+
+        assertEquals(new RequestedRange(null, null, 500L), range);
+        assertTrue(range.isSuffix());
+    }
+
+    @Test
+    void toleratesSurroundingWhitespace() {
+        assertEquals(new RequestedRange(0L, 0L, null), RequestedRange.parse("  bytes=0-0 "));
+    }
+
+    @Test
+    void ignoresMissingMalformedAndMultipleRanges() {
+        assertNull(RequestedRange.parse(null));
+        assertNull(RequestedRange.parse(""));
+        assertNull(RequestedRange.parse("bytes=-"));
+        assertNull(RequestedRange.parse("bytes=abc-def"));
+        assertNull(RequestedRange.parse("items=0-10"));
+        assertNull(RequestedRange.parse("bytes=0-10,20-30"));
+        assertNull(RequestedRange.parse("bytes=20-10"));
+        assertNull(RequestedRange.parse("bytes=-0"));
+        assertNull(RequestedRange.parse("bytes=99999999999999999999-"));
+    }
+
+    @Test
+    void resolvesAClosedRangeInsideTheFile() {
+        assertEquals(new ByteRange(10, 19), RequestedRange.parse("bytes=10-19").resolve(100));
+        assertEquals(10, RequestedRange.parse("bytes=10-19").resolve(100).length());
+    }
+
+    @Test
+    void clampsTheEndToTheLastByte() {
+        assertEquals(new ByteRange(90, 99), RequestedRange.parse("bytes=90-1000").resolve(100));
+        assertEquals(new ByteRange(90, 99), RequestedRange.parse("bytes=90-").resolve(100));
+    }
+
+    @Test
+    void resolvesASuffixToTheLastBytes() {
+        assertEquals(new ByteRange(80, 99), RequestedRange.parse("bytes=-20").resolve(100));
+    }
+
+    @Test
+    void resolvesASuffixLongerThanTheFileToTheWholeFile() {
+        assertEquals(new ByteRange(0, 99), RequestedRange.parse("bytes=-500").resolve(100));
+    }
+
+    @Test
+    void isUnsatisfiableWhenNoByteFallsInside() {
+        assertNull(RequestedRange.parse("bytes=100-").resolve(100));
+        assertNull(RequestedRange.parse("bytes=150-200").resolve(100));
+        assertNull(RequestedRange.parse("bytes=-10").resolve(0));
+        assertNull(RequestedRange.parse("bytes=0-").resolve(0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.devminds.rentify.service.like;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemIdBitmapTest {
+    private static final int ARRAY_LIMIT = 4096;
+
+    @Test
+    void containsOnlyWhatWasAdded() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        bitmap.add(3);
+        bitmap.add(70_000);
+
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(3 + 65_536));
+    }
+
+    @Test
+    void addingTwiceAndRemovingMissingIdsAreNoOps() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        bitmap.add(5);
+        bitmap.add(5);
+        bitmap.remove(6);
+        bitmap.remove(200_000);
+
+        assertTrue(bitmap.contains(5));
+        assertEquals(1, containerCount(bitmap));
+    }
+
+    @Test
+    void keepsContainersSortedByHighBits() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        bitmap.add(3L << 16);
+        bitmap.add(1L << 16);
+        bitmap.add(2L << 16);
+
+        assertArrayEquals(new char[]{1, 2, 3}, keys(bitmap));
+    }
+
+    @Test
+    void dropsAContainerOnceItIsEmpty() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        bitmap.add(1);
+        bitmap.add(1L << 16);
+        bitmap.add(2L << 16);
+
+        bitmap.remove(1L << 16);
+
+        assertEquals(2, containerCount(bitmap));
+        assertArrayEquals(new char[]{0, 2}, keys(bitmap));
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(2L << 16));
+    }
+
+    @Test
+    void switchesToABitmapContainerPastTheArrayLimit() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        for (int i = 0; i < ARRAY_LIMIT; i++) {
+            bitmap.add(i * 2L);
+        }
+        assertEquals("ArrayContainer", containerType(bitmap));
+
+        bitmap.add(1);
+
+        assertEquals("BitmapContainer", containerType(bitmap));
+        assertTrue(bitmap.contains(1));
+        for (int i = 0; i < ARRAY_LIMIT; i++) {
+            assertTrue(bitmap.contains(i * 2L), "id " + i * 2);
+        }
+        assertFalse(bitmap.contains(3));
+    }
+
+    @Test
+    void switchesBackToAnArrayContainerAtTheArrayLimit() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        for (int i = 0; i <= ARRAY_LIMIT; i++) {
+            bitmap.add(i);
+        }
+        assertEquals("BitmapContainer", containerType(bitmap));
+
+        bitmap.remove(100);
+
+        assertEquals("ArrayContainer", containerType(bitmap));
+        assertFalse(bitmap.contains(100));
+        for (int i = 0; i <= ARRAY_LIMIT; i++) {
+            if (i != 100) {
+                assertTrue(bitmap.contains(i), "id " + i);
+            }
+        }
+    }
+
+    @Test
+    void matchesAReferenceSetUnderRandomUpdates() {
+        ItemIdBitmap bitmap = new ItemIdBitmap();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            // Two dense high keys cross the array limit in both directions, one stays sparse.
+            long itemId = random.nextInt(3) * 65_536L + random.nextInt(i % 3 == 0 ? 100 : 9_000);
+            if (random.nextInt(3) == 0) {
+                bitmap.remove(itemId);
+                expected.remove(itemId);
+            } else {
+                bitmap.add(itemId);
+                expected.add(itemId);
+            }
+        }
+
+        for (long itemId = 0; itemId < 3 * 65_536L; itemId++) {
+            assertEquals(expected.contains(itemId), bitmap.contains(itemId), "id " + itemId);
+        }
+    }
+
+    private static int containerCount(ItemIdBitmap bitmap) {
+        return ((Object[]) ReflectionTestUtils.getField(bitmap, "containers")).length;
+    }
+
+    private static String containerType(ItemIdBitmap bitmap) {
+        return ((Object[]) ReflectionTestUtils.getField(bitmap, "containers"))[0].getClass().getSimpleName();
+    }
+
+    private static char[] keys(ItemIdBitmap bitmap) {
+        return (char[]) ReflectionTestUtils.getField(bitmap, "keys");
+    }
+}
@@ -0,0 +1,96 @@
+package com.devminds.rentify.service.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LongIntMapTest {
+
+    @Test
+    void addToAccumulatesAndReturnsTheNewCount() {
+        LongIntMap map = new LongIntMap(4);
+
+        assertEquals(1, map.addTo(7, 1));
+        assertEquals(4, map.addTo(7, 3));
+        assertEquals(-2, map.addTo(9, -2));
+
+        assertEquals(4, map.get(7));
+        assertEquals(-2, map.get(9));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void missingKeysCountAsZero() {
+        LongIntMap map = new LongIntMap(4);
+        map.addTo(1, 5);
+
+        assertEquals(0, map.get(2));
+        assertEquals(0, map.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    void keepsEveryCountAcrossResizes() {
+        LongIntMap map = new LongIntMap(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(20_000);
+            int delta = 1 + random.nextInt(3);
+            expected.merge(key, delta, Integer::sum);
+            assertEquals((int) expected.get(key), map.addTo(key, delta));
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, count) -> assertEquals((int) count, map.get(key), "key " + key));
+    }
+
+    @Test
+    void keysThatCollideAreKeptApart() {
+        LongIntMap map = new LongIntMap(16);
+        // Multiples of a large power of two differ only in bits the hash mixes down.
+        for (long i = 1; i <= 64; i++) {
+            map.addTo(i << 40, (int) i);
+        }
+
+        for (long i = 1; i <= 64; i++) {
+            assertEquals((int) i, map.get(i << 40));
+        }
+    }
+
+    @Test
+    void forEachVisitsEveryEntryOnce() {
+        LongIntMap map = new LongIntMap(4);
+        for (long key = 1; key <= 100; key++) {
+            map.addTo(key, (int) key * 2);
+        }
+
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+
+        assertEquals(100, visited.size());
+        visited.forEach((key, value) -> assertEquals(key * 2, (long) value));
+    }
+
+    @Test
+    void addAllSumsSharedKeys() {
+        LongIntMap first = new LongIntMap(4);
+        first.addTo(1, 1);
+        first.addTo(2, 2);
+        LongIntMap second = new LongIntMap(4);
+        second.addTo(2, 10);
+        second.addTo(3, 3);
+
+        first.addAll(second);
+
+        assertEquals(3, first.size());
+        assertEquals(1, first.get(1));
+        assertEquals(12, first.get(2));
+        assertEquals(3, first.get(3));
+        assertEquals(10, second.get(2));
+    }
+}
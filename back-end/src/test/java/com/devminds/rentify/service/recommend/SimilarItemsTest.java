@@ -0,0 +1,88 @@
+package com.devminds.rentify.service.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SimilarItemsTest {
+
+    @Test
+    void withAddsToAnEmptyList() {
+        SimilarItems similar = SimilarItems.EMPTY.with(5, 0.5f, 3);
+
+        assertArrayEquals(new long[]{5}, similar.itemIds());
+        assertArrayEquals(new float[]{0.5f}, similar.scores());
+    }
+
+    @Test
+    void withKeepsTheListOrderedBestFirst() {
+        SimilarItems similar = SimilarItems.EMPTY
+                .with(1, 0.2f, 5)
+                .with(2, 0.8f, 5)
+                .with(3, 0.5f, 5);
+
+        assertArrayEquals(new long[]{2, 3, 1}, similar.itemIds());
+        assertArrayEquals(new float[]{0.8f, 0.5f, 0.2f}, similar.scores());
+    }
+
+    @Test
+    void withDropsTheWeakestEntryWhenFull() {
+        SimilarItems similar = SimilarItems.EMPTY
+                .with(1, 0.9f, 3)
+                .with(2, 0.6f, 3)
+                .with(3, 0.3f, 3)
+                .with(4, 0.7f, 3);
+
+        assertArrayEquals(new long[]{1, 4, 2}, similar.itemIds());
+        assertArrayEquals(new float[]{0.9f, 0.7f, 0.6f}, similar.scores());
+    }
+
+    @Test
+    void withReturnsTheSameListWhenTheCandidateDoesNotMakeTheCut() {
+        SimilarItems full = SimilarItems.EMPTY
+                .with(1, 0.9f, 2)
+                .with(2, 0.6f, 2);
+
+        assertSame(full, full.with(3, 0.6f, 2));
+        assertSame(full, full.with(3, 0.1f, 2));
+    }
+
+    @Test
+    void withRescoresAnExistingEntryInsteadOfDuplicatingIt() {
+        SimilarItems similar = SimilarItems.EMPTY
+                .with(1, 0.9f, 3)
+                .with(2, 0.6f, 3)
+                .with(3, 0.3f, 3);
+
+        SimilarItems raised = similar.with(3, 0.95f, 3);
+        assertArrayEquals(new long[]{3, 1, 2}, raised.itemIds());
+        assertArrayEquals(new float[]{0.95f, 0.9f, 0.6f}, raised.scores());
+
+        SimilarItems lowered = similar.with(1, 0.1f, 3);
+        assertArrayEquals(new long[]{2, 3, 1}, lowered.itemIds());
+        assertArrayEquals(new float[]{0.6f, 0.3f, 0.1f}, lowered.scores());
+    }
+
+    @Test
+    void withNeverModifiesTheOriginal() {
+        SimilarItems original = SimilarItems.EMPTY
+                .with(1, 0.9f, 2)
+                .with(2, 0.6f, 2);
+
+        original.with(3, 0.8f, 2);
+
+        assertArrayEquals(new long[]{1, 2}, original.itemIds());
+        assertArrayEquals(new float[]{0.9f, 0.6f}, original.scores());
+    }
+
+    @Test
+    void ofSortsByScoreAndIgnoresUnusedSlots() {
+        SimilarItems similar = SimilarItems.of(new long[]{1, 2, 3, 0}, new float[]{0.1f, 0.7f, 0.4f, 0}, 3);
+
+        assertEquals(3, similar.itemIds().length);
+        assertArrayEquals(new long[]{2, 3, 1}, similar.itemIds());
+        assertArrayEquals(new float[]{0.7f, 0.4f, 0.1f}, similar.scores());
+    }
+}
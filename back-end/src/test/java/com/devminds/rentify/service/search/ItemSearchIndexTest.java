@@ -0,0 +1,163 @@
+package com.devminds.rentify.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSearchIndexTest {
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        index.index(1L, "Tool", "drill", null);
+        index.index(2L, "Drill", "tool", null);
+
+        assertEquals(List.of(2L, 1L), index.search("drill", 10));
+    }
+
+    @Test
+    void rareTermsOutweighCommonOnes() {
+        index.index(1L, "Hammer", "red", null);
+        index.index(2L, "Hammer", "blue", null);
+        index.index(3L, "Hammer", "green", null);
+        index.index(4L, "Ladder", "red", null);
+
+        List<Long> results = index.search("hammer ladder", 10);
+
+        assertEquals(4, results.size());
+        assertEquals(List.of(4L), results.subList(0, 1));
+    }
+
+    @Test
+    void shorterDocumentsRankAboveLongerOnesWithTheSameMatches() {
+        index.index(1L, "Tent", "large family tent with porch and extra sleeping room", null);
+        index.index(2L, "Tent", "small", null);
+
+        assertEquals(List.of(2L, 1L), index.search("tent", 10));
+    }
+
+    @Test
+    void lastTermMatchesAsAPrefix() {
+        index.index(1L, "Drill", null, null);
+        index.index(2L, "Driver", null, null);
+        index.index(3L, "Dryer", null, null);
+
+        assertEquals(Set.of(1L, 2L), new HashSet<>(index.search("dri", 10)));
+        assertEquals(List.of(3L), index.search("dry", 10));
+    }
+
+    @Test
+    void earlierTermsOnlyMatchWholeTerms() {
+        index.index(1L, "Drill", null, null);
+        index.index(2L, "Saw", null, null);
+
+        assertEquals(List.of(2L), index.search("dri saw", 10));
+    }
+
+    @Test
+    void prefixExpandsToAtMostFiftyTerms() {
+        for (long itemId = 0; itemId < 60; itemId++) {
+            index.index(itemId, String.format("p%02d", itemId), null, null);
+        }
+
+        List<Long> results = index.search("p", 100);
+
+        assertEquals(50, results.size());
+        assertTrue(results.stream().allMatch(itemId -> itemId < 50));
+    }
+
+    @Test
+    void returnsAtMostTheLimit() {
+        for (long itemId = 1; itemId <= 20; itemId++) {
+            index.index(itemId, "Bike", null, null);
+        }
+
+        assertEquals(5, index.search("bike", 5).size());
+        assertTrue(index.search("bike", 0).isEmpty());
+    }
+
+    @Test
+    void queriesWithoutTermsFindNothing() {
+        index.index(1L, "The bike", null, null);
+
+        assertTrue(index.search("the", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(new ItemSearchIndex().search("bike", 10).isEmpty());
+    }
+
+    @Test
+    void categoryNamesAreSearchable() {
+        index.index(1L, "Cordless", null, "Power tools");
+
+        assertEquals(List.of(1L), index.search("power", 10));
+    }
+
+    @Test
+    void reindexingReplacesTheOldTerms() {
+        index.index(1L, "Kayak", null, null);
+        index.index(1L, "Canoe", null, null);
+
+        assertTrue(index.search("kayak", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("canoe", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removedItemsAreNoLongerFound() {
+        index.index(1L, "Kayak", null, null);
+        index.index(2L, "Kayak paddle", null, null);
+
+        index.remove(1L);
+        index.remove(3L);
+
+        assertEquals(List.of(2L), index.search("kayak", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void matchesStayExactThroughRandomUpdates() {
+        Random random = new Random(4);
+        Map<Long, Set<String>> expected = new HashMap<>();
+        for (int operation = 0; operation < 5_000; operation++) {
+            long itemId = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                index.remove(itemId);
+                expected.remove(itemId);
+                continue;
+            }
+
+            Set<String> words = new HashSet<>();
+            List<String> name = new ArrayList<>();
+            int length = 1 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                String word = String.format("w%02d", random.nextInt(20));
+                words.add(word);
+                name.add(word);
+            }
+            index.index(itemId, String.join(" ", name), "common", null);
+            expected.put(itemId, words);
+        }
+
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected.keySet(), new HashSet<>(index.search("common", 1_000)));
+        for (int word = 0; word < 20; word++) {
+            String term = String.format("w%02d", word);
+            Set<Long> matching = new HashSet<>();
+            expected.forEach((itemId, words) -> {
+                if (words.contains(term)) {
+                    matching.add(itemId);
+                }
+            });
+            assertEquals(matching, new HashSet<>(index.search(term, 1_000)), term);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.devminds.rentify.service.search;
+
+import com.devminds.rentify.entity.Item;
+import com.devminds.rentify.event.ItemChangedEvent;
+import com.devminds.rentify.repository.ItemRepository;
+import com.devminds.rentify.repository.ItemSearchProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexerTest {
+    private final ItemSearchIndex index = new ItemSearchIndex();
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSearchIndexer indexer = new ItemSearchIndexer(index, itemRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(indexer, "rebuildThreads", 1);
+        ReflectionTestUtils.setField(indexer, "rebuildBatchSize", 10);
+        when(itemRepository.findMaxId()).thenReturn(3L);
+    }
+
+    @Test
+    void rebuildIndexesEveryItem() {
+        List<ItemSearchProjection> batch = List.of(projection(1L, "Kayak"), projection(2L, "Tent"),
+                projection(3L, "Drill"));
+        when(itemRepository.findSearchProjections(anyLong(), anyLong(), any())).thenReturn(batch);
+
+        indexer.rebuild();
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(2L), index.search("tent", 10));
+    }
+
+    @Test
+    void changesDuringTheRebuildWinOverTheBatchesReadBeforeThem() {
+        // The batch is read, then item 1 is renamed and item 2 removed before it is applied.
+        List<ItemSearchProjection> staleBatch = List.of(projection(1L, "Kayak"), projection(2L, "Tent"),
+                projection(3L, "Drill"));
+        when(itemRepository.findSearchProjections(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            indexer.onItemChanged(new ItemChangedEvent(item(1L, "Canoe"), false));
+            indexer.onItemChanged(new ItemChangedEvent(item(2L, "Tent"), true));
+            return staleBatch;
+        });
+
+        indexer.rebuild();
+
+        assertEquals(2, index.size());
+        assertTrue(index.search("kayak", 10).isEmpty());
+        assertTrue(index.search("tent", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("canoe", 10));
+        assertEquals(List.of(3L), index.search("drill", 10));
+    }
+
+    @Test
+    void changesAfterTheRebuildApplyDirectly() {
+        List<ItemSearchProjection> batch = List.of(projection(1L, "Kayak"));
+        when(itemRepository.findSearchProjections(anyLong(), anyLong(), any())).thenReturn(batch);
+        indexer.rebuild();
+
+        indexer.onItemChanged(new ItemChangedEvent(item(1L, "Canoe"), false));
+        indexer.onItemChanged(new ItemChangedEvent(item(4L, "Ladder"), false));
+
+        assertEquals(List.of(1L), index.search("canoe", 10));
+        assertEquals(List.of(4L), index.search("ladder", 10));
+        assertTrue(index.search("kayak", 10).isEmpty());
+    }
+
+    private static ItemSearchProjection projection(Long id, String name) {
+        ItemSearchProjection projection = mock(ItemSearchProjection.class);
+        when(projection.getId()).thenReturn(id);
+        when(projection.getName()).thenReturn(name);
+        return projection;
+    }
+
+    private static Item item(Long id, String name) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        return item;
+    }
+}
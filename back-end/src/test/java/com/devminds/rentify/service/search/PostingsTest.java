@@ -0,0 +1,69 @@
+package com.devminds.rentify.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingsTest {
+
+    @Test
+    void addReturnsConsecutiveSlots() {
+        Postings postings = new Postings();
+
+        assertEquals(0, postings.add(10, 1, 5, 0));
+        assertEquals(1, postings.add(20, 3, 7, 2));
+
+        assertEquals(2, postings.size());
+        assertEquals(20, postings.itemIdAt(1));
+        assertEquals(3, postings.frequencyAt(1));
+        assertEquals(7, postings.documentLengthAt(1));
+        assertEquals(2, postings.termIndexAt(1));
+    }
+
+    @Test
+    void removingTheLastEntryMovesNothing() {
+        Postings postings = new Postings();
+        postings.add(10, 1, 5, 0);
+        postings.add(20, 2, 6, 1);
+
+        assertFalse(postings.removeAt(1));
+
+        assertEquals(1, postings.size());
+        assertEquals(10, postings.itemIdAt(0));
+    }
+
+    @Test
+    void removingAnEarlierEntryMovesTheLastIntoItsSlot() {
+        Postings postings = new Postings();
+        postings.add(10, 1, 5, 0);
+        postings.add(20, 2, 6, 1);
+        postings.add(30, 4, 8, 3);
+
+        assertTrue(postings.removeAt(0));
+
+        assertEquals(2, postings.size());
+        assertEquals(30, postings.itemIdAt(0));
+        assertEquals(4, postings.frequencyAt(0));
+        assertEquals(8, postings.documentLengthAt(0));
+        assertEquals(3, postings.termIndexAt(0));
+        assertEquals(20, postings.itemIdAt(1));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        Postings postings = new Postings();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, postings.add(i, i + 1, i + 2, i % 7));
+        }
+
+        assertEquals(100, postings.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, postings.itemIdAt(i));
+            assertEquals(i + 1, postings.frequencyAt(i));
+            assertEquals(i + 2, postings.documentLengthAt(i));
+            assertEquals(i % 7, postings.termIndexAt(i));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.devminds.rentify.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertEquals(List.of("cordless", "drill", "18v", "2", "batteries"),
+                Tokenizer.tokenize("Cordless drill, 18V (2 batteries)!"));
+    }
+
+    @Test
+    void lowerCasesTerms() {
+        assertEquals(List.of("mountain", "bike"), Tokenizer.tokenize("MOUNTAIN Bike"));
+    }
+
+    @Test
+    void dropsStopWords() {
+        assertEquals(List.of("tent", "four", "people"), Tokenizer.tokenize("A tent for four people"));
+        assertTrue(Tokenizer.tokenize("the and of").isEmpty());
+    }
+
+    @Test
+    void keepsNonAsciiLetters() {
+        // Cyrillic "palatka" (tent) and "cafe" with an accent, escaped to keep the source ASCII.
+        String tent = "\u043f\u0430\u043b\u0430\u0442\u043a\u0430";
+        String cafe = "caf\u00e9";
+        assertEquals(List.of(tent, cafe), Tokenizer.tokenize("\u041f\u0430\u043b\u0430\u0442\u043a\u0430 CAF\u00c9"));
+    }
+
+    @Test
+    void keepsRepeatedTerms() {
+        assertEquals(List.of("saw", "saw"), Tokenizer.tokenize("saw saw"));
+    }
+
+    @Test
+    void emptyTextHasNoTerms() {
+        assertTrue(Tokenizer.tokenize(null).isEmpty());
+        assertTrue(Tokenizer.tokenize("").isEmpty());
+        assertTrue(Tokenizer.tokenize(" ,.- ").isEmpty());
+    }
+}
@@ -0,0 +1,164 @@
+package com.devminds.rentify.service.upload;
+
+import com.devminds.rentify.dto.ImageUploadResultDto;
+import com.devminds.rentify.service.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageUploadPipelineTest {
+    private static final int THREADS = 2;
+
+    private final StorageService storageService = mock(StorageService.class);
+    private final ImageUploadPipeline pipeline =
+            new ImageUploadPipeline(storageService, THREADS, 16, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pipeline, "perRequestConcurrency", THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void resultsKeepTheOrderOfTheFiles() throws Exception {
+        List<MultipartFile> files = files("a.jpg", "b.jpg", "c.jpg", "d.jpg", "e.jpg");
+        when(storageService.uploadFile(any())).thenAnswer(invocation -> urlOf(invocation.getArgument(0)));
+
+        List<ImageUploadResultDto> results = upload(files);
+
+        assertEquals(List.of("a.jpg", "b.jpg", "c.jpg", "d.jpg", "e.jpg"),
+                results.stream().map(ImageUploadResultDto::getFileName).toList());
+        for (ImageUploadResultDto result : results) {
+            assertEquals(url(result.getFileName()), result.getUrl());
+        }
+    }
+
+    @Test
+    void aFailedFileDoesNotStopTheOthers() throws Exception {
+        List<MultipartFile> files = files("a.jpg", "b.jpg", "c.jpg");
+        doAnswer(invocation -> urlOf(invocation.getArgument(0))).when(storageService).uploadFile(any());
+        doThrow(new IOException("Cannot upload the file.")).when(storageService).uploadFile(files.get(1));
+
+        List<ImageUploadResultDto> results = upload(files);
+
+        assertNotNull(results.get(0).getUrl());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getUrl());
+        assertEquals("Upload failed.", results.get(1).getError());
+        assertNotNull(results.get(2).getUrl());
+        assertNull(results.get(2).getError());
+    }
+
+    @Test
+    void cancellingReportsEveryUnfinishedFileAsCancelled() throws Exception {
+        List<MultipartFile> files = files("a.jpg", "b.jpg", "c.jpg", "d.jpg", "e.jpg");
+        CountDownLatch started = new CountDownLatch(THREADS);
+        when(storageService.uploadFile(any())).thenAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return urlOf(invocation.getArgument(0));
+        });
+        CompletableFuture<List<ImageUploadResultDto>> completed = new CompletableFuture<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        ImageUploadPipeline.UploadBatch batch = pipeline.start(files, results -> {
+            completions.incrementAndGet();
+            completed.complete(results);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        batch.cancel();
+        List<ImageUploadResultDto> results = completed.get(10, TimeUnit.SECONDS);
+
+        assertEquals(files.size(), results.size());
+        results.forEach(result -> assertEquals("Upload was cancelled.", result.getError()));
+        assertEquals(1, completions.get());
+        // Only the files in flight were sent; the rest were never started.
+        verify(storageService, times(THREADS)).uploadFile(any());
+    }
+
+    @Test
+    void aCancelledBatchDoesNotInterruptTheNextOne() throws Exception {
+        CountDownLatch started = new CountDownLatch(THREADS);
+        MultipartFile slow = file("slow.jpg");
+        doAnswer(invocation -> urlOf(invocation.getArgument(0))).when(storageService).uploadFile(any());
+        doAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return urlOf(slow);
+        }).when(storageService).uploadFile(slow);
+        CompletableFuture<List<ImageUploadResultDto>> cancelled = new CompletableFuture<>();
+        ImageUploadPipeline.UploadBatch batch = pipeline.start(List.of(slow, slow), cancelled::complete);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        batch.cancel();
+        cancelled.get(10, TimeUnit.SECONDS);
+
+        List<ImageUploadResultDto> results = upload(files("a.jpg", "b.jpg", "c.jpg", "d.jpg"));
+
+        results.forEach(result -> assertNull(result.getError(), result.getFileName()));
+    }
+
+    @Test
+    void anEmptyRequestCompletesRightAway() {
+        List<List<ImageUploadResultDto>> completions = new ArrayList<>();
+
+        pipeline.start(List.of(), completions::add);
+
+        assertEquals(List.of(List.of()), completions);
+    }
+
+    private List<ImageUploadResultDto> upload(List<MultipartFile> files) throws Exception {
+        CompletableFuture<List<ImageUploadResultDto>> completed = new CompletableFuture<>();
+        pipeline.start(files, completed::complete);
+        return completed.get(10, TimeUnit.SECONDS);
+    }
+
+    private static List<MultipartFile> files(String... names) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (String name : names) {
+            files.add(file(name));
+        }
+        return files;
+    }
+
+    private static MultipartFile file(String name) {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getOriginalFilename()).thenReturn(name);
+        return file;
+    }
+
+    private static URL urlOf(MultipartFile file) throws IOException {
+        return url(file.getOriginalFilename());
+    }
+
+    private static URL url(String name) throws IOException {
+        return new URL("https://rentify.example/" + name);
+    }
+}
@@ -0,0 +1,141 @@
+package com.devminds.rentify.service.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+    // Three standard errors of a sketch with 2048 registers, 1.04 / sqrt(2048).
+    private static final double MAX_RELATIVE_ERROR = 3 * 1.04 / Math.sqrt(2048);
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+        assertEquals(0, HyperLogLog.fromBytes(new HyperLogLog().toBytes()).estimate());
+    }
+
+    @Test
+    void estimatesStayWithinTheErrorBound() {
+        Random random = new Random(11);
+        for (int cardinality : new int[]{10, 100, 500, 1_000, 5_000, 50_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            long offset = random.nextLong();
+            for (int i = 0; i < cardinality; i++) {
+                sketch.add(offset + i);
+            }
+
+            double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            assertTrue(error <= MAX_RELATIVE_ERROR,
+                    "estimate " + sketch.estimate() + " for " + cardinality + " is off by " + error);
+        }
+    }
+
+    @Test
+    void addingTheSameValueAgainChangesNothing() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long value = 1; value <= 300; value++) {
+            sketch.add(value);
+        }
+        byte[] before = sketch.toBytes();
+
+        for (long value = 1; value <= 300; value++) {
+            sketch.add(value);
+        }
+
+        assertArrayEquals(before, sketch.toBytes());
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (long value = 0; value < 30_000; value++) {
+            first.add(value);
+            union.add(value);
+        }
+        for (long value = 20_000; value < 60_000; value++) {
+            second.add(value);
+            union.add(value);
+        }
+
+        assertEquals(union.estimate(), first.merge(second).estimate());
+    }
+
+    @Test
+    void sparseAndDenseSketchesEstimateTheSame() {
+        HyperLogLog sparse = new HyperLogLog();
+        for (long value = 0; value < 200; value++) {
+            sparse.add(value);
+        }
+        assertTrue(sparse.isSparse());
+
+        HyperLogLog dense = HyperLogLog.fromBytes(new byte[2048]).merge(sparse);
+        assertFalse(dense.isSparse());
+
+        assertEquals(sparse.estimate(), dense.estimate());
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(sparse.toBytes()).estimate());
+    }
+
+    @Test
+    void sparseSketchTurnsDenseAsItFills() {
+        HyperLogLog sketch = new HyperLogLog();
+        long value = 0;
+        while (sketch.isSparse()) {
+            sketch.add(value++);
+            assertTrue(sketch.toBytes().length <= 2048);
+        }
+
+        assertEquals(2048, sketch.toBytes().length);
+        double error = Math.abs(sketch.estimate() - value) / (double) value;
+        assertTrue(error <= MAX_RELATIVE_ERROR, "estimate " + sketch.estimate() + " for " + value);
+    }
+
+    @Test
+    void mergingSparseSketchesMatchesMergingTheirDenseForms() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (long value = 0; value < 400; value++) {
+            first.add(value);
+            second.add(value + 1_000);
+        }
+        HyperLogLog denseFirst = HyperLogLog.fromBytes(new byte[2048]).merge(first);
+        HyperLogLog denseSecond = HyperLogLog.fromBytes(new byte[2048]).merge(second);
+
+        HyperLogLog merged = HyperLogLog.fromBytes(first.toBytes()).merge(second);
+
+        assertEquals(denseFirst.merge(denseSecond).estimate(), merged.estimate());
+    }
+
+    @Test
+    void serializationRoundTripsBothForms() {
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        for (long value = 0; value < 50; value++) {
+            sparse.add(value);
+        }
+        for (long value = 0; value < 20_000; value++) {
+            dense.add(value);
+        }
+
+        // Three bytes per non-zero register, and a few of the 50 values share a register.
+        assertEquals(0, sparse.toBytes().length % 3);
+        assertTrue(sparse.toBytes().length <= 150);
+        assertArrayEquals(sparse.toBytes(), HyperLogLog.fromBytes(sparse.toBytes()).toBytes());
+        assertArrayEquals(dense.toBytes(), HyperLogLog.fromBytes(dense.toBytes()).toBytes());
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(dense.toBytes()).estimate());
+    }
+
+    @Test
+    void fromBytesRejectsMalformedSketches() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[2047]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[4]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[3 * 600]));
+    }
+}
@@ -0,0 +1,88 @@
+package com.devminds.rentify.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    private static final int INSERTIONS = 100_000;
+    private static final int PROBES = 200_000;
+
+    @Test
+    void valuesThatWerePutAreNeverReportedAbsent() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+        List<String> values = values("token-", INSERTIONS);
+        values.forEach(filter::put);
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void valuesPutFromSeveralThreadsAreNeverReportedAbsent() throws Exception {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+        List<String> values = values("token-", INSERTIONS);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> puts = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int first = thread;
+                puts.add(executor.submit(() -> {
+                    for (int i = first; i < values.size(); i += threads) {
+                        filter.put(values.get(i));
+                    }
+                }));
+            }
+            for (Future<?> put : puts) {
+                put.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsCloseToTheConfiguredRate() {
+        for (double configuredRate : new double[] {0.01, 0.001}) {
+            BloomFilter filter = BloomFilter.create(INSERTIONS, configuredRate);
+            values("token-", INSERTIONS).forEach(filter::put);
+
+            long falsePositives = values("absent-", PROBES).stream().filter(filter::mightContain).count();
+            double measuredRate = (double) falsePositives / PROBES;
+
+            assertTrue(measuredRate > configuredRate / 2 && measuredRate < configuredRate * 1.5,
+                    "configured " + configuredRate + ", measured " + measuredRate);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+
+        assertEquals(0, values("token-", 1_000).stream().filter(filter::mightContain).count());
+        assertFalse(filter.mightContain(""));
+    }
+
+    private static List<String> values(String prefix, int count) {
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(prefix + UUID.nameUUIDFromBytes((prefix + i).getBytes()));
+        }
+        return values;
+    }
+}
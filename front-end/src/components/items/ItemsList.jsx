@@ -18,7 +18,7 @@ const ItemsList = ({ searchTerm }) => {
           try {
 
             const result = await fetchData(endpoint + (Object.keys(endpointSuffix).length === 0 ?  '' : '/category/' + endpointSuffix.id));
-            setItems(result);
+            setItems(result.items);
           } catch (error) {
             console.log(error);
           }